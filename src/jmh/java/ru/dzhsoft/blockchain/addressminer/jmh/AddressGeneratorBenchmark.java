@@ -0,0 +1,49 @@
+package ru.dzhsoft.blockchain.addressminer.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import ru.dzhsoft.blockchain.addressminer.addrgen.AddressGenerator;
+import ru.dzhsoft.blockchain.addressminer.addrgen.BTCAddressGenerator;
+import ru.dzhsoft.blockchain.addressminer.addrgen.BTCLikeAddressHash160Generator;
+import ru.dzhsoft.blockchain.addressminer.addrgen.ECPointData;
+import ru.dzhsoft.blockchain.addressminer.addrgen.ETHAddressGenerator;
+import ru.dzhsoft.blockchain.addressminer.addrgen.ETHLikeAddressHash160Generator;
+
+import java.util.concurrent.TimeUnit;
+
+import static ru.dzhsoft.blockchain.addressminer.Constants.BTC_P2PKH_VERSION;
+
+/**
+ * Address generation (hash160 & formatting) of ETH & BTC with and without checksum.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AddressGeneratorBenchmark {
+	@Param({"ETH", "BTC"})
+	public String currency;
+
+	@Param({"false", "true"})
+	public boolean withCheckSum;
+
+	private AddressGenerator generator;
+	private ECPointData[] points;
+	private int idx;
+
+	@Setup
+	public void setup() {
+		generator = currency.equals("ETH")
+				? new ETHAddressGenerator(currency, new ETHLikeAddressHash160Generator(), withCheckSum)
+				: new BTCAddressGenerator(currency, BTC_P2PKH_VERSION, new BTCLikeAddressHash160Generator(),
+				withCheckSum);
+		points = BenchmarkPoints.create(0x5EED);
+	}
+
+	@Benchmark
+	public CharSequence generateAddress() {
+		idx = (idx + 1) % BenchmarkPoints.COUNT;
+		return generator.generateAddress(points[idx]);
+	}
+}
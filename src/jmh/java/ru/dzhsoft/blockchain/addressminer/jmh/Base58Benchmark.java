@@ -0,0 +1,52 @@
+package ru.dzhsoft.blockchain.addressminer.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import ru.dzhsoft.blockchain.addressminer.util.Base58Encoder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static ru.dzhsoft.blockchain.addressminer.util.Base58Encoder.ADDRESS_MAX_ENCODED_SIZE;
+import static ru.dzhsoft.blockchain.addressminer.util.Base58Encoder.ADDRESS_SIZE;
+
+/**
+ * Base58 encoding of 25-byte payloads: generic encoder vs the specialized one & the residue of the last chars only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class Base58Benchmark {
+	private final byte[][] inputs = new byte[64][ADDRESS_SIZE];
+	private final char[] output = new char[ADDRESS_MAX_ENCODED_SIZE];
+	private int idx;
+
+	@Setup
+	public void setup() {
+		final Random rnd = new Random(0x5EED);
+		for (byte[] input : inputs) {
+			rnd.nextBytes(input);
+			input[0] = 0;
+		}
+	}
+
+	@Benchmark
+	public int encodeInto() {
+		idx = (idx + 1) & (inputs.length - 1);
+		return Base58Encoder.encodeInto(inputs[idx], output, 0);
+	}
+
+	@Benchmark
+	public int encode25Into() {
+		idx = (idx + 1) & (inputs.length - 1);
+		return Base58Encoder.encode25Into(inputs[idx], output, 0);
+	}
+
+	@Benchmark
+	public long mod58Pow5() {
+		idx = (idx + 1) & (inputs.length - 1);
+		return Base58Encoder.mod58Pow5(inputs[idx]);
+	}
+}
@@ -0,0 +1,31 @@
+package ru.dzhsoft.blockchain.addressminer.jmh;
+
+import ru.dzhsoft.blockchain.addressminer.Constants;
+import ru.dzhsoft.blockchain.addressminer.addrgen.ECPointData;
+
+import java.util.Random;
+
+/**
+ * Deterministic EC points for benchmarks: generators & hash160 generators cache results of the last point,
+ * so benchmarks cycle through a few points to measure the work itself.
+ */
+final class BenchmarkPoints {
+	static final int COUNT = 64;
+
+	private BenchmarkPoints() {
+	}
+
+	static ECPointData[] create(long seed) {
+		final Random rnd = new Random(seed);
+		final byte[] exponent = new byte[32];
+		final ECPointData[] points = new ECPointData[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			points[i] = new ECPointData(Constants.CURVE.getG());
+			do {
+				rnd.nextBytes(exponent);
+			}
+			while (!points[i].update(exponent));
+		}
+		return points;
+	}
+}
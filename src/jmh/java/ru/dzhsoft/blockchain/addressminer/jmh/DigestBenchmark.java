@@ -0,0 +1,85 @@
+package ru.dzhsoft.blockchain.addressminer.jmh;
+
+import org.bouncycastle.crypto.digests.KeccakDigest;
+import org.bouncycastle.crypto.digests.RIPEMD160Digest;
+import org.openjdk.jmh.annotations.*;
+import ru.dzhsoft.blockchain.addressminer.ec.Secp256k1Field;
+import ru.dzhsoft.blockchain.addressminer.hash.Keccak256;
+import ru.dzhsoft.blockchain.addressminer.hash.Ripemd160;
+import ru.dzhsoft.blockchain.addressminer.hash.Sha256;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-size {@link Ripemd160} (32-byte SHA-256 output) & {@link Keccak256} (64-byte raw public key)
+ * vs BouncyCastle digests of the same inputs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DigestBenchmark {
+	private static final int COUNT = 64;
+
+	private final int[][] words = new int[COUNT][8];
+	private final byte[][] bytes32 = new byte[COUNT][32];
+	private final int[][] xs = new int[COUNT][];
+	private final int[][] ys = new int[COUNT][];
+	private final byte[][] bytes64 = new byte[COUNT][64];
+	private final byte[] digest = new byte[32];
+	private final Ripemd160 ripemd160 = new Ripemd160();
+	private final Keccak256 keccak256 = new Keccak256();
+	private final RIPEMD160Digest bcRipemd160 = new RIPEMD160Digest();
+	private final KeccakDigest bcKeccak256 = new KeccakDigest(256);
+	private int idx;
+
+	@Setup
+	public void setup() {
+		final Random rnd = new Random(0x5EED);
+		for (int i = 0; i < COUNT; i++) {
+			for (int j = 0; j < 8; j++) {
+				words[i][j] = rnd.nextInt();
+			}
+			Sha256.toBytes(words[i], bytes32[i], 0, 32);
+			xs[i] = Secp256k1Field.fromBigInteger(new BigInteger(256, rnd).mod(Secp256k1Field.MODULUS));
+			ys[i] = Secp256k1Field.fromBigInteger(new BigInteger(256, rnd).mod(Secp256k1Field.MODULUS));
+			Secp256k1Field.toBytes(xs[i], bytes64[i], 0);
+			Secp256k1Field.toBytes(ys[i], bytes64[i], 32);
+		}
+	}
+
+	@Benchmark
+	public byte[] ripemd160() {
+		idx = (idx + 1) & (COUNT - 1);
+		ripemd160.hash32(words[idx], digest, 0);
+		return digest;
+	}
+
+	@Benchmark
+	public byte[] ripemd160BouncyCastle() {
+		idx = (idx + 1) & (COUNT - 1);
+		bcRipemd160.update(bytes32[idx], 0, 32);
+		bcRipemd160.doFinal(digest, 0);
+		return digest;
+	}
+
+	@Benchmark
+	public byte[] keccak256() {
+		idx = (idx + 1) & (COUNT - 1);
+		keccak256.hashLimbs64(xs[idx], ys[idx]);
+		keccak256.getBytes(0, digest, 0, 32);
+		return digest;
+	}
+
+	@Benchmark
+	public byte[] keccak256BouncyCastle() {
+		idx = (idx + 1) & (COUNT - 1);
+		bcKeccak256.update(bytes64[idx], 0, 64);
+		bcKeccak256.doFinal(digest, 0);
+		return digest;
+	}
+}
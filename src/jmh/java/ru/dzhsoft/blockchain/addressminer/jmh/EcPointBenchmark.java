@@ -0,0 +1,43 @@
+package ru.dzhsoft.blockchain.addressminer.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import ru.dzhsoft.blockchain.addressminer.Constants;
+import ru.dzhsoft.blockchain.addressminer.addrgen.ECPointData;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EC point evaluation: from scratch (fixed-base multiplication) vs the next subsequent point (batched addition).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EcPointBenchmark {
+	@Param({"1", "256"})
+	public int batchSize;
+
+	private final byte[] exponent = new byte[32];
+	private ECPointData ecp;
+
+	@Setup
+	public void setup() {
+		new Random(0x5EED).nextBytes(exponent);
+		ecp = new ECPointData(Constants.CURVE.getG(), batchSize);
+		ecp.update(exponent);
+	}
+
+	@Benchmark
+	public boolean update() {
+		exponent[31]++;
+		return ecp.update(exponent);
+	}
+
+	@Benchmark
+	public boolean updateNextSubsequent() {
+		return ecp.updateNextSubsequent();
+	}
+}
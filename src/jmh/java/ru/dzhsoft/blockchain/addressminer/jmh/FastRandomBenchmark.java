@@ -0,0 +1,82 @@
+package ru.dzhsoft.blockchain.addressminer.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import ru.dzhsoft.blockchain.addressminer.util.FastRandom;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filling exponents by {@link FastRandom} shared by 1..N threads (random source reader with or without reuse
+ * of previous data, or PRNG only) & by {@link SecureRandom} as the baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FastRandomBenchmark {
+	@Param({"source", "source-reuse", "prng"})
+	public String mode;
+
+	private FastRandom fastRandom;
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	@State(Scope.Thread)
+	public static class Exponent {
+		final byte[] bytes = new byte[32];
+	}
+
+	@Setup
+	public void setup() {
+		fastRandom = new FastRandom("RandomSourceReader");
+		fastRandom.setReusePrevData(mode.equals("source-reuse"));
+		if (!mode.equals("prng")) {
+			fastRandom.start();
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws InterruptedException {
+		if (!mode.equals("prng")) {
+			fastRandom.shutdown();
+			fastRandom.join();
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public byte[] fill1(Exponent exponent) {
+		fastRandom.fillFast(exponent.bytes);
+		return exponent.bytes;
+	}
+
+	@Benchmark
+	@Threads(2)
+	public byte[] fill2(Exponent exponent) {
+		fastRandom.fillFast(exponent.bytes);
+		return exponent.bytes;
+	}
+
+	@Benchmark
+	@Threads(4)
+	public byte[] fill4(Exponent exponent) {
+		fastRandom.fillFast(exponent.bytes);
+		return exponent.bytes;
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public byte[] fillMax(Exponent exponent) {
+		fastRandom.fillFast(exponent.bytes);
+		return exponent.bytes;
+	}
+
+	@Benchmark
+	@Threads(1)
+	public byte[] secureRandom1(Exponent exponent) {
+		secureRandom.nextBytes(exponent.bytes);
+		return exponent.bytes;
+	}
+}
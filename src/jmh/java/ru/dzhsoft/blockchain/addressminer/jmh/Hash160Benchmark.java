@@ -0,0 +1,57 @@
+package ru.dzhsoft.blockchain.addressminer.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import ru.dzhsoft.blockchain.addressminer.addrgen.AddressHash160Generator;
+import ru.dzhsoft.blockchain.addressminer.addrgen.BTCLikeAddressHash160Generator;
+import ru.dzhsoft.blockchain.addressminer.addrgen.ECPointData;
+import ru.dzhsoft.blockchain.addressminer.addrgen.ETHLikeAddressHash160Generator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hash160 of public keys: BTC-like (sha256 + ripemd160 of compressed key) and ETH-like (keccak256 of XY),
+ * one by one and by batches (per point cost of the batch API, it's the baseline for interleaved kernels).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class Hash160Benchmark {
+	private static final int BATCH = 4;
+
+	@Param({"BTC", "ETH"})
+	public String kind;
+
+	private final byte[] hash160 = new byte[20];
+	private final byte[][] batchHash160 = new byte[BATCH][20];
+	private final ECPointData[] batchEcps = new ECPointData[BATCH];
+	private AddressHash160Generator hashGen;
+	private ECPointData[] points;
+	private int idx;
+
+	@Setup
+	public void setup() {
+		hashGen = kind.equals("BTC") ? new BTCLikeAddressHash160Generator() : new ETHLikeAddressHash160Generator();
+		points = BenchmarkPoints.create(0x5EED);
+	}
+
+	@Benchmark
+	public byte[] hash160() {
+		idx = (idx + 1) % BenchmarkPoints.COUNT;
+		hashGen.evaluateHash160(hash160, 0, points[idx]);
+		return hash160;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public byte[][] hash160Batch() {
+		for (int i = 0; i < BATCH; i++) {
+			idx = (idx + 1) % BenchmarkPoints.COUNT;
+			batchEcps[i] = points[idx];
+		}
+		hashGen.evaluateHash160(batchHash160, 0, batchEcps, BATCH);
+		return batchHash160;
+	}
+}
@@ -0,0 +1,84 @@
+package ru.dzhsoft.blockchain.addressminer.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import ru.dzhsoft.blockchain.addressminer.addrgen.BTCAddressGenerator;
+import ru.dzhsoft.blockchain.addressminer.addrgen.BTCLikeAddressHash160Generator;
+import ru.dzhsoft.blockchain.addressminer.addrgen.ECPointData;
+import ru.dzhsoft.blockchain.addressminer.util.MultiPatternDfa;
+import ru.dzhsoft.blockchain.addressminer.util.RegexLiteral;
+import ru.dzhsoft.blockchain.addressminer.util.ReusableCharSequence;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static ru.dzhsoft.blockchain.addressminer.Constants.BTC_P2PKH_VERSION;
+import static ru.dzhsoft.blockchain.addressminer.util.Base58Encoder.ADDRESS_MAX_ENCODED_SIZE;
+
+/**
+ * Regex matching of addresses kept in {@link ReusableCharSequence} (as generators return them) vs strings,
+ * and the prefilters used by the miner: mandatory literal and multi-pattern DFA.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RegexBenchmark {
+	@Param({"^1Love", "^.JustTest\\d", "[xX]{3}"})
+	public String regex;
+
+	private final ReusableCharSequence[] sequences = new ReusableCharSequence[BenchmarkPoints.COUNT];
+	private final String[] strings = new String[BenchmarkPoints.COUNT];
+	private Matcher matcher;
+	private RegexLiteral literal;
+	private MultiPatternDfa dfa;
+	private long[] found;
+	private int idx;
+
+	@Setup
+	public void setup() {
+		final BTCAddressGenerator generator = new BTCAddressGenerator("BTC", BTC_P2PKH_VERSION,
+				new BTCLikeAddressHash160Generator(), true);
+		final ECPointData[] points = BenchmarkPoints.create(0x5EED);
+		for (int i = 0; i < points.length; i++) {
+			strings[i] = generator.generateAddress(points[i]).toString();
+			sequences[i] = new ReusableCharSequence(ADDRESS_MAX_ENCODED_SIZE);
+			strings[i].getChars(0, strings[i].length(), sequences[i].getBuffer(), 0);
+			sequences[i].setLen(strings[i].length());
+		}
+
+		final Pattern pattern = Pattern.compile(regex);
+		matcher = pattern.matcher("");
+		literal = RegexLiteral.extract(pattern);
+		dfa = MultiPatternDfa.compile(Collections.singletonList(pattern));
+		found = new long[1];
+	}
+
+	@Benchmark
+	public boolean findInReusable() {
+		idx = (idx + 1) % BenchmarkPoints.COUNT;
+		return matcher.reset(sequences[idx]).find();
+	}
+
+	@Benchmark
+	public boolean findInString() {
+		idx = (idx + 1) % BenchmarkPoints.COUNT;
+		return matcher.reset(strings[idx]).find();
+	}
+
+	@Benchmark
+	public boolean literalThenFind() {
+		idx = (idx + 1) % BenchmarkPoints.COUNT;
+		final ReusableCharSequence address = sequences[idx];
+		return ((literal == null) || literal.isPresentIn(address)) && matcher.reset(address).find();
+	}
+
+	@Benchmark
+	public boolean dfaScan() {
+		idx = (idx + 1) % BenchmarkPoints.COUNT;
+		return (dfa != null) && dfa.scan(sequences[idx], found);
+	}
+}
@@ -0,0 +1,84 @@
+package ru.dzhsoft.blockchain.addressminer.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import ru.dzhsoft.blockchain.addressminer.hash.Sha256;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SHA-256 of fixed-size inputs (33-byte compressed keys, 21-byte versioned hash160, 32-byte hashes for checksums):
+ * {@link Sha256} in Java ("java"), {@link Sha256} by JCA ("jca", SHA-256 intrinsic if it's enabled)
+ * & {@link MessageDigest} as the baseline ("md").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class Sha256Benchmark {
+	@Param({"java", "jca", "md"})
+	public String impl;
+
+	private final byte[][] inputs = new byte[64][33];
+	private final int[][] inputWords = new int[64][8];
+	private final int[] words = new int[8];
+	private final byte[] hash256 = new byte[32];
+	private Sha256 sha256;
+	private MessageDigest md;
+	private int idx;
+
+	@Setup
+	public void setup() throws NoSuchAlgorithmException {
+		final Random rnd = new Random(0x5EED);
+		for (int i = 0; i < inputs.length; i++) {
+			rnd.nextBytes(inputs[i]);
+			for (int j = 0; j < 8; j++) {
+				inputWords[i][j] = rnd.nextInt();
+			}
+		}
+		sha256 = impl.equals("md") ? null : new Sha256(impl.equals("jca"));
+		md = impl.equals("md") ? MessageDigest.getInstance("SHA-256") : null;
+	}
+
+	@Benchmark
+	public Object hash33() throws DigestException {
+		idx = (idx + 1) & (inputs.length - 1);
+		if (md != null) {
+			md.update(inputs[idx], 0, 33);
+			md.digest(hash256, 0, 32);
+			return hash256;
+		}
+		sha256.hash33(inputs[idx], 0, words);
+		return words;
+	}
+
+	@Benchmark
+	public Object hash21() throws DigestException {
+		idx = (idx + 1) & (inputs.length - 1);
+		if (md != null) {
+			md.update(inputs[idx], 0, 21);
+			md.digest(hash256, 0, 32);
+			return hash256;
+		}
+		sha256.hash21(inputs[idx], 0, words);
+		return words;
+	}
+
+	@Benchmark
+	public Object hash32() throws DigestException {
+		idx = (idx + 1) & (inputs.length - 1);
+		if (md != null) {
+			// the input is a previous hash (as bytes, MessageDigest has no words API)
+			md.update(inputs[idx], 0, 32);
+			md.digest(hash256, 0, 32);
+			return hash256;
+		}
+		sha256.hash32(inputWords[idx], words);
+		return words;
+	}
+}
@@ -1,28 +1,44 @@
 package ru.dzhsoft.blockchain.addressminer;
 
+import org.bouncycastle.math.ec.ECPoint;
 import org.bouncycastle.util.encoders.Hex;
+import ru.dzhsoft.blockchain.addressminer.RulesConfig.AddressRule;
 import ru.dzhsoft.blockchain.addressminer.RulesConfig.RulesBlock;
 import ru.dzhsoft.blockchain.addressminer.addrgen.AddressGenerator;
 import ru.dzhsoft.blockchain.addressminer.addrgen.AddressHash160Generator;
 import ru.dzhsoft.blockchain.addressminer.addrgen.ECPointData;
 import ru.dzhsoft.blockchain.addressminer.addrgen.OptionalChecksumGenerator;
+import ru.dzhsoft.blockchain.addressminer.ec.FixedBaseTable;
+import ru.dzhsoft.blockchain.addressminer.jfr.MinerEvents;
 import ru.dzhsoft.blockchain.addressminer.util.FastRandom;
+import ru.dzhsoft.blockchain.addressminer.util.MultiPatternDfa;
+import ru.dzhsoft.blockchain.addressminer.util.LatencyHistogram;
+import ru.dzhsoft.blockchain.addressminer.util.RegexLiteral;
+import ru.dzhsoft.blockchain.addressminer.util.SampledTimer;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static java.lang.System.currentTimeMillis;
 import static java.lang.System.identityHashCode;
+import static ru.dzhsoft.blockchain.addressminer.MinerMetrics.STAGE_ADDRESS_GENERATION;
+import static ru.dzhsoft.blockchain.addressminer.MinerMetrics.STAGE_EC_POINT;
+import static ru.dzhsoft.blockchain.addressminer.MinerMetrics.STAGE_RANDOM_FILL;
+import static ru.dzhsoft.blockchain.addressminer.MinerMetrics.STAGE_REGEX_MATCHING;
+import static ru.dzhsoft.blockchain.addressminer.MinerMetrics.STAGES;
 import static ru.dzhsoft.blockchain.addressminer.util.Helper.log;
 
 public class AddressMiner {
@@ -31,42 +47,53 @@ public class AddressMiner {
 
 	private volatile boolean running;
 
-	private final AtomicLong totalExponentsScanned = new AtomicLong(0);
-	private final AtomicLong randomFillTimeNanos = new AtomicLong(0);
-	private final AtomicLong ecPointEvaluatingTimeNanos = new AtomicLong(0);
-	private final AtomicLong addressGenerationTimeNanos = new AtomicLong(0);
-	private final AtomicLong regexMatchingTimeNanos = new AtomicLong(0);
-	private final NanoTimeProvider nanoTimeProvider;
+	// per worker metrics (aggregated by StatLogger)
+	private final MinerMetrics metrics;
 
 	private final FastRandom fastRandom;
 	private final MinerSettings settings;
 	private final RulesConfig rulesConfig;
+	// multiples of the generator for fresh exponents (shared by all the workers)
+	private final FixedBaseTable baseTable;
 
 	private final List<MinerWorker> minerWorkers = new ArrayList<>();
 	private final StatLogger statLogger;
+	private final MetricsServer metricsServer;
+	// JFR periodic events of workers (keys scanned by the previous event)
+	private final Runnable throughputEventHook = this::emitThroughputEvents;
+	private long[] lastWorkerExponents;
 
 	public AddressMiner(MinerSettings settings, RulesConfig rulesConfig) {
 		this.settings = settings;
 		this.rulesConfig = rulesConfig;
 		this.statLogger = settings.getStatFreqSec() > 0 ? new StatLogger("StatLogger") : null;
-		this.nanoTimeProvider = settings.getStatFreqSec() > 0 ? System::nanoTime : () -> 0;
+		// stages are timed for sampled iterations only (no timing at all unless statistics is reported)
+		final boolean timing = (settings.getStatFreqSec() > 0) || (settings.getMetricsPort() > 0)
+				|| settings.isBenchmark();
+		this.metrics = new MinerMetrics(rulesConfig, timing ? Math.max(1, settings.getStatSampling()) : 0);
 		this.fastRandom = new FastRandom("RandomSourceReader", settings.isReuseKeyData(),
 				settings.getRandomSourceFilePath());
-	}
-
-	@FunctionalInterface
-	private interface NanoTimeProvider {
-		long getTimeNanos();
+		this.metricsServer = (settings.getMetricsPort() > 0)
+				? new MetricsServer(settings.getMetricsHost(), settings.getMetricsPort(), this, metrics, fastRandom)
+				: null;
+
+		final long startMillis = currentTimeMillis();
+		this.baseTable = FixedBaseTable.getShared(settings.getGenerator(), settings.getBaseWindow());
+		log(String.format("INFO: table of multiples of the generator: %d bits windows, %d KB (%d ms)",
+				baseTable.getWindow(), baseTable.getSizeBytes() >> 10, currentTimeMillis() - startMillis));
 	}
 
 	public void start() {
 		running = true;
 
-		// start RandomSourceReader of FastRandom (unless PRNG only is used)
-		if (!settings.isUsePrng()) {
+		// start RandomSourceReader of FastRandom (unless PRNG only or seeded keys are used)
+		if (!settings.isUsePrng() && !settings.isSeededKeys()) {
 			log("INFO: start random source reader (read from: " + settings.getRandomSourceFilePath() + ")");
 			fastRandom.start();
 		}
+		if (settings.isSeededKeys()) {
+			log("WARN: keys are derived from the seed " + settings.getSeed() + " (insecure), found keys aren't shown");
+		}
 
 		// start all address miner workers
 		{
@@ -80,9 +107,39 @@ public class AddressMiner {
 
 		// start statistics logger
 		if (statLogger != null) {
-			log("INFO: start statistics logger (every " + settings.getStatFreqSec() + " seconds)");
+			log("INFO: start statistics logger (every " + settings.getStatFreqSec() + " seconds, timing 1 of "
+					+ settings.getStatSampling() + " iterations)");
 			statLogger.start();
 		}
+
+		// JFR events of workers throughput (they're emitted while a recording is running only)
+		lastWorkerExponents = new long[minerWorkers.size()];
+		MinerEvents.get().addWorkerThroughputHook(throughputEventHook);
+
+		// start metrics endpoint
+		if (metricsServer != null) {
+			log("INFO: start metrics server (http://" + settings.getMetricsHost() + ":" + settings.getMetricsPort()
+					+ "/metrics)");
+			metricsServer.start();
+		}
+	}
+
+	public MinerMetrics getMetrics() {
+		return metrics;
+	}
+
+	public boolean isWorkerAlive(int idx) {
+		return minerWorkers.get(idx).isAlive();
+	}
+
+	private void emitThroughputEvents() {
+		final List<MinerMetrics.Worker> workers = metrics.getWorkers();
+		for (int i = 0; i < workers.size(); i++) {
+			final long exponentsScanned = workers.get(i).getExponentsScanned();
+			MinerEvents.get().commitWorkerThroughput(
+					i + 1, exponentsScanned - lastWorkerExponents[i], exponentsScanned, isWorkerAlive(i));
+			lastWorkerExponents[i] = exponentsScanned;
+		}
 	}
 
 	public void shutdown() {
@@ -91,13 +148,17 @@ public class AddressMiner {
 		shutdownCond.signalAll();
 		sharedLock.unlock();
 		fastRandom.shutdown();
+		if (metricsServer != null) {
+			metricsServer.shutdown();
+		}
+		MinerEvents.get().removeWorkerThroughputHook(throughputEventHook);
 	}
 
 	public void join() throws InterruptedException {
 		for (Thread worker : minerWorkers) {
 			worker.join();
 		}
-		if (!settings.isUsePrng()) {
+		if (!settings.isUsePrng() && !settings.isSeededKeys()) {
 			fastRandom.join();
 		}
 		if (statLogger != null) {
@@ -106,11 +167,27 @@ public class AddressMiner {
 	}
 
 	private class MinerWorker extends Thread {
+		private final MinerMetrics.Worker workerMetrics;
+		private final SampledTimer timer;
+		// source of random exponents (FastRandom is used unless it's specified)
+		private final Random seededRandom;
 		private final byte[] exponent = new byte[32];
-		private final ECPointData ecp = new ECPointData(settings.getGenerator());
+		// no need to evaluate more points per batch than subsequent exponents are used
+		private final ECPointData ecp = new ECPointData(baseTable,
+				Math.max(1, Math.min(settings.getBatchSize(), settings.getSubSeqLen())),
+				settings.isNegation(), settings.isEndomorphism());
+		private int subseqs = 0;
+		private boolean restartSubseq = true;
+		// patterns found by DFA of the current block (bitmap)
+		private long[] foundPatterns;
 
 		public MinerWorker(int idx) {
 			super("MinerWorker-" + (idx + 1));
+			workerMetrics = metrics.addWorker(System.nanoTime() * 31 + idx);
+			timer = workerMetrics.getTimer();
+			// deterministic keys (e.g. benchmark): seeded PRNG of each worker
+			seededRandom = settings.isSeededKeys()
+					? new Random(settings.getSeed() * 0x9E3779B97F4A7C15L + idx) : null;
 		}
 
 		@Override
@@ -129,6 +206,7 @@ public class AddressMiner {
 					}
 				}
 				matchers = matcherList.toArray(new Matcher[0]);
+				foundPatterns = new long[(matchers.length + 63) >>> 6];
 			}
 
 			// All generators are copies to avoid data messing, since they are thread unsafe,
@@ -161,9 +239,22 @@ public class AddressMiner {
 									.append("\t\tAddressGenerator: identity = ")
 									.append(String.format("0x%08X\n", identityHashCode(gen)));
 						}
+						final MultiPatternDfa dfa = block.getRegexDfa();
+						if (dfa != null) {
+							message.append(String.format("\tRegex DFA: %d of %d patterns, %d states\n",
+									dfa.getSupportedCount(), block.getRegexPatterns().size(), dfa.getStateCount()));
+						}
 						message.append("\tPatterns:\n");
-						for (Pattern pattern : block.getRegexPatterns()) {
-							message.append("\t\tregex:").append(pattern).append("\n");
+						for (int i = 0; i < block.getRegexPatterns().size(); i++) {
+							final RegexLiteral literal = block.getRegexLiteral(i);
+							message.append("\t\tregex:").append(block.getRegexPatterns().get(i));
+							if (literal != null) {
+								message.append(" [literal: ").append(literal).append("]");
+							}
+							message.append("\n");
+						}
+						for (AddressRule rule : block.getAddressRules()) {
+							message.append("\t\t").append(rule).append("\n");
 						}
 						log(message.toString());
 					}
@@ -176,100 +267,186 @@ public class AddressMiner {
 			runMainLoop(blocks, matchers);
 		}
 
-		@SuppressWarnings("ForLoopReplaceableByForEach")
 		private void runMainLoop(RulesBlock[] blocks, Matcher[] matchers) {
 			final AtomicReference<CharSequence> finalAddressRef = new AtomicReference<>();
+			final int variantCount = ecp.getVariantCount();
 			long timerNanos;
-			int subseqs = 0;
-			boolean restartSubseq = true;
 			while (running) {
-				if (restartSubseq) {
-					// fill next random exponent
-					timerNanos = -nanoTimeProvider.getTimeNanos();
-					fastRandom.fillFast(exponent);
-					timerNanos += nanoTimeProvider.getTimeNanos();
-					randomFillTimeNanos.getAndAdd(timerNanos);
-					subseqs = 0;
-				}
-				else {
-					// increment previous exponent
-					increment(exponent);
-					subseqs++;
+				timer.nextIteration();
+				if (!nextPoint()) {
+					continue;
 				}
 
-				// evaluate EC point for the exponent
-				boolean ecUpdated;
-				timerNanos = -nanoTimeProvider.getTimeNanos();
-				if (restartSubseq) {
-					// use new generated exponent (evaluate EC point from scratch)
-					ecUpdated = ecp.update(exponent);
-				}
-				else {
-					// use previous exponent incremented by 1
-					ecUpdated = ecp.updateNextSubsequent();
-				}
-				timerNanos += nanoTimeProvider.getTimeNanos();
-				ecPointEvaluatingTimeNanos.getAndAdd(timerNanos);
+				// check all variants of the point (just the point itself unless negation/endomorphism is used)
+				for (int variant = 0; variant < variantCount; variant++) {
+					timerNanos = -timer.getTimeNanos();
+					ecp.selectVariant(variant);
+					timerNanos += timer.getTimeNanos();
+					workerMetrics.addStageTime(STAGE_EC_POINT, timerNanos);
 
-				// always restart with new exponent when failed
-				if (!ecUpdated) {
-					restartSubseq = true;
-					continue;
+					checkAddresses(blocks, matchers, finalAddressRef);
+					workerMetrics.addExponentScanned();
 				}
+			}
+		}
 
-				// restart when max is reached
-				restartSubseq = (subseqs >= settings.getSubSeqLen());
+		@SuppressWarnings("ForLoopReplaceableByForEach")
+		private void checkAddresses(
+				RulesBlock[] blocks,
+				Matcher[] matchers,
+				AtomicReference<CharSequence> finalAddressRef
+		) {
+			long timerNanos;
 
-				// generate addresses & check for matching for specified patterns
-				int matcherIdx = 0; // matcher index
-				for (RulesBlock block : blocks) {
-					final List<AddressGenerator> generators = block.getGenerators();
-					final List<Pattern> patterns = block.getRegexPatterns();
-					for (int genIdx = 0; genIdx < generators.size(); genIdx++) {
-						final AddressGenerator generator = generators.get(genIdx);
-
-						// generate address
-						timerNanos = -nanoTimeProvider.getTimeNanos();
-						final CharSequence address = generator.generateAddress(ecp);
-						timerNanos += nanoTimeProvider.getTimeNanos();
-						addressGenerationTimeNanos.getAndAdd(timerNanos);
-
-						// check matching for specifed patterns
-						for (int pIdx = 0, mIdx = matcherIdx; pIdx < patterns.size(); pIdx++, mIdx++) {
-							timerNanos = -nanoTimeProvider.getTimeNanos();
-							final Matcher m = matchers[mIdx].reset(address);
-							final boolean found = m.find();
-							timerNanos += nanoTimeProvider.getTimeNanos();
-							regexMatchingTimeNanos.getAndAdd(timerNanos);
-
-							// check result & output matched value
-							if (!found) {
-								continue;
-							}
+			// generate addresses & check for matching for specified patterns
+			int matcherIdx = 0; // matcher index
+			for (int blockIdx = 0; blockIdx < blocks.length; blockIdx++) {
+				final RulesBlock block = blocks[blockIdx];
+				final List<AddressGenerator> generators = block.getGenerators();
+				final List<Pattern> patterns = block.getRegexPatterns();
+				final List<AddressRule> addressRules = block.getAddressRules();
+				final MultiPatternDfa dfa = block.getRegexDfa();
+				for (int genIdx = 0; genIdx < generators.size(); genIdx++) {
+					final AddressGenerator generator = generators.get(genIdx);
+					final int currencyIdx = metrics.getCurrencyIndex(blockIdx, genIdx);
+
+					// check prefixes/suffixes (they don't need formatted address in most cases)
+					if (!addressRules.isEmpty()) {
+						checkAddressRules(generator, genIdx, currencyIdx, addressRules,
+								metrics.getPatternIndex(blockIdx, patterns.size()), finalAddressRef);
+					}
+					if (patterns.isEmpty()) {
+						continue;
+					}
 
-							// recheck with checksum if necessary
-							finalAddressRef.set(address);
-							if (generator instanceof OptionalChecksumGenerator<?>
-									&& !((OptionalChecksumGenerator<?>) generator).isWithCheckSum()
-									&& !recheckMatchWithCheckSum(generator, m, finalAddressRef)) {
-								continue;
-							}
+					// generate address
+					timerNanos = -timer.getTimeNanos();
+					final CharSequence address = generator.generateAddress(ecp);
+					timerNanos += timer.getTimeNanos();
+					workerMetrics.addAddress(currencyIdx, timerNanos);
+
+					// scan address once for all patterns compiled into DFA
+					if (dfa != null) {
+						timerNanos = -timer.getTimeNanos();
+						dfa.scan(address, foundPatterns);
+						timerNanos += timer.getTimeNanos();
+						workerMetrics.addStageTime(STAGE_REGEX_MATCHING, timerNanos);
+					}
+
+					// check matching for specifed patterns (DFA ones are just rechecked to get matched value)
+					for (int pIdx = 0, mIdx = matcherIdx; pIdx < patterns.size(); pIdx++, mIdx++) {
+						if ((dfa != null) && dfa.isSupported(pIdx) && !MultiPatternDfa.isFound(foundPatterns, pIdx)) {
+							continue;
+						}
+						timerNanos = -timer.getTimeNanos();
+						final Matcher m = matchers[mIdx];
+						// mandatory literal is checked by plain chars comparison first
+						final RegexLiteral literal = block.getRegexLiteral(pIdx);
+						final boolean found = ((literal == null) || literal.isPresentIn(address))
+								&& m.reset(address).find();
+						timerNanos += timer.getTimeNanos();
+						workerMetrics.addEvaluation(metrics.getPatternIndex(blockIdx, pIdx), timerNanos);
+
+						// check result & output matched value
+						if (!found) {
+							continue;
+						}
+
+						// recheck with checksum if necessary
+						finalAddressRef.set(address);
+						if (generator instanceof OptionalChecksumGenerator<?>
+								&& !((OptionalChecksumGenerator<?>) generator).isWithCheckSum()
+								&& !recheckMatchWithCheckSum(generator,
+								(a) -> m.reset(a).find(), patterns.get(pIdx).pattern(), finalAddressRef)) {
+							continue;
+						}
 
-							log(String.format(
-									"INFO: found address: currency[%s] 0x%s => %s (matches regex '%s' => %s)",
-									generator.getCurrencyName(), Hex.toHexString(exponent).toUpperCase(),
-									finalAddressRef.get(), patterns.get(pIdx).pattern(), m.group()));
+						if (!verifyFoundKey(generator, finalAddressRef.get())) {
+							continue;
 						}
+						log(String.format(
+								"INFO: found address: currency[%s] %s => %s (matches regex '%s' => %s)",
+								generator.getCurrencyName(), getReportedKey(),
+								finalAddressRef.get(), patterns.get(pIdx).pattern(), m.group()));
+						workerMetrics.addHit(metrics.getPatternIndex(blockIdx, pIdx));
+						MinerEvents.get().commitFoundAddress(generator.getCurrencyName(), finalAddressRef.get(),
+								"regex:" + patterns.get(pIdx).pattern());
 					}
-					matcherIdx += patterns.size();
 				}
-				totalExponentsScanned.getAndIncrement();
+				matcherIdx += patterns.size();
+			}
+		}
+
+		@SuppressWarnings("ForLoopReplaceableByForEach")
+		private void checkAddressRules(
+				AddressGenerator generator,
+				int genIdx,
+				int currencyIdx,
+				List<AddressRule> rules,
+				int firstPatternIdx,
+				AtomicReference<CharSequence> finalAddressRef
+		) {
+			long timerNanos;
+			for (int rIdx = 0; rIdx < rules.size(); rIdx++) {
+				final AddressRule rule = rules.get(rIdx);
+
+				// cheap precheck first (hash160 ranges, payload residues, etc.)
+				timerNanos = -timer.getTimeNanos();
+				final boolean candidate = rule.mayMatch(genIdx, generator, ecp);
+				timerNanos += timer.getTimeNanos();
+				if (!candidate) {
+					workerMetrics.addEvaluation(firstPatternIdx + rIdx, timerNanos);
+					continue;
+				}
+
+				// generate address & check the rule itself (evaluation time is precheck & check times)
+				long addressNanos = -timer.getTimeNanos();
+				final CharSequence address = generator.generateAddress(ecp);
+				addressNanos += timer.getTimeNanos();
+				workerMetrics.addAddress(currencyIdx, addressNanos);
+				timerNanos -= timer.getTimeNanos();
+				final boolean matched = rule.matches(address);
+				timerNanos += timer.getTimeNanos();
+				workerMetrics.addEvaluation(firstPatternIdx + rIdx, timerNanos);
+				if (!matched) {
+					continue;
+				}
+
+				// recheck with checksum if necessary
+				finalAddressRef.set(address);
+				if (generator instanceof OptionalChecksumGenerator<?>
+						&& !((OptionalChecksumGenerator<?>) generator).isWithCheckSum()
+						&& !recheckMatchWithCheckSum(generator,
+						rule::matches, rule.toString(), finalAddressRef)) {
+					continue;
+				}
+
+				if (!verifyFoundKey(generator, finalAddressRef.get())) {
+					continue;
+				}
+				log(String.format(
+						"INFO: found address: currency[%s] %s => %s (matches %s %s)",
+						generator.getCurrencyName(), getReportedKey(),
+						finalAddressRef.get(), rule.getKind(), rule.describeMatch(finalAddressRef.get())));
+				workerMetrics.addHit(firstPatternIdx + rIdx);
+				MinerEvents.get().commitFoundAddress(generator.getCurrencyName(), finalAddressRef.get(), rule.toString());
+			}
+		}
+
+		private boolean verifyFoundKey(AddressGenerator generator, CharSequence address) {
+			if (isKeyVerified()) {
+				return true;
 			}
+			log(String.format("ERROR: found address isn't reported, its private key doesn't give its public key "
+					+ "(broken table of multiples of the generator?): currency[%s] => %s",
+					generator.getCurrencyName(), address));
+			return false;
 		}
 
 		private boolean recheckMatchWithCheckSum(
 				AddressGenerator generator,
-				Matcher matcher,
+				Predicate<CharSequence> matcher,
+				String pattern,
 				AtomicReference<CharSequence> addressRef
 		) {
 			final OptionalChecksumGenerator<?> optCSGen = (OptionalChecksumGenerator<?>) generator;
@@ -278,21 +455,82 @@ public class AddressMiner {
 			}
 			final CharSequence addressWithCheckSum = optCSGen.getGeneratorWithCheckSum().generateAddress(ecp);
 			final CharSequence addressWithoutCheckSum = addressRef.get();
-			matcher.reset(addressWithCheckSum);
 			addressRef.lazySet(addressWithCheckSum);
-			if (matcher.find()) {
+			if (matcher.test(addressWithCheckSum)) {
 				return true;
 			}
 			if (settings.isDebugOutput()) {
 				log(String.format(
-						"DEBUG: rejected address (no matching after checksum): currency[%s] 0x%s => "
+						"DEBUG: rejected address (no matching after checksum): currency[%s] %s => "
 								+ "%s (without checksum) / %s (with checksum) [pattern: %s]",
-						generator.getCurrencyName(), Hex.toHexString(exponent).toUpperCase(),
-						addressWithoutCheckSum, addressWithCheckSum,
-						matcher.pattern().pattern()));
+						generator.getCurrencyName(), getReportedKey(),
+						addressWithoutCheckSum, addressWithCheckSum, pattern));
 			}
 			return false;
 		}
+
+		/**
+		 * Evaluate EC point for the next exponent, returns false if it's failed (restart is required).
+		 */
+		private boolean nextPoint() {
+			long timerNanos;
+			if (restartSubseq) {
+				// fill next random exponent
+				timerNanos = -timer.getTimeNanos();
+				if (seededRandom != null) {
+					seededRandom.nextBytes(exponent);
+				}
+				else {
+					fastRandom.fillFast(exponent);
+				}
+				timerNanos += timer.getTimeNanos();
+				workerMetrics.addStageTime(STAGE_RANDOM_FILL, timerNanos);
+				subseqs = 0;
+			}
+			else {
+				// increment previous exponent
+				increment(exponent);
+				subseqs++;
+			}
+
+			// evaluate EC point for the exponent
+			final boolean updated;
+			timerNanos = -timer.getTimeNanos();
+			if (restartSubseq) {
+				// use new generated exponent (evaluate EC point from scratch)
+				updated = ecp.update(exponent);
+			}
+			else {
+				// use previous exponent incremented by 1
+				updated = ecp.updateNextSubsequent();
+			}
+			timerNanos += timer.getTimeNanos();
+			workerMetrics.addStageTime(STAGE_EC_POINT, timerNanos);
+
+			// always restart with new exponent when failed, restart when max is reached
+			restartSubseq = !updated || (subseqs >= settings.getSubSeqLen());
+			return updated;
+		}
+
+		/**
+		 * Verify the private key of the checked variant: its public key is derived by BouncyCastle
+		 * (independently of the table of multiples & the walk), so a broken table can't get a wrong key reported.
+		 */
+		private boolean isKeyVerified() {
+			final ECPoint expected = settings.getGenerator()
+					.multiply(new BigInteger(1, ecp.getVariantExponent(exponent))).normalize();
+			return Arrays.equals(expected.getAffineXCoord().getEncoded(), ecp.publicX)
+					&& Arrays.equals(expected.getAffineYCoord().getEncoded(), ecp.publicY);
+		}
+
+		private String getReportedKey() {
+			// seeded keys are derivable from the seed (it's public by default), so they are never shown
+			if (seededRandom != null) {
+				return "[seeded key, insecure: not shown]";
+			}
+			// private key of the checked variant (it differs from the exponent unless it's the point itself)
+			return "0x" + Hex.toHexString(ecp.getVariantExponent(exponent)).toUpperCase();
+		}
 	}
 
 	private class StatLogger extends Thread {
@@ -306,7 +544,7 @@ public class AddressMiner {
 			final long statFreqMs = settings.getStatFreqSec() * 1000;
 			long now = currentTimeMillis();
 			long nextScheduledTime = now - (now % statFreqMs) + statFreqMs;
-			long lastTotalExponentsScanned = 0;
+			MinerMetrics.Snapshot last = metrics.getSnapshot();
 
 			while (running) {
 				now = currentTimeMillis();
@@ -326,15 +564,19 @@ public class AddressMiner {
 					}
 				}
 
-				// get metrics snapshot
-				final long currentTotalExponentsScanned = totalExponentsScanned.get();
-				final long currentRandomFillTimeNanos = randomFillTimeNanos.get();
-				final long currentEcPointEvaluatingTimeNanos = ecPointEvaluatingTimeNanos.get();
-				final long currentAddressGenerationTimeNanos = addressGenerationTimeNanos.get();
-				final long currentRegexMatchingTimeNanos = regexMatchingTimeNanos.get();
+				// get metrics snapshot (sum of all workers metrics, times are taken for the last period only,
+				// they are times of sampled iterations, so they are in proportion to the total ones)
+				final MinerMetrics.Snapshot current = metrics.getSnapshot();
+				final MinerMetrics.Snapshot delta = current.minus(last);
+				final long currentTotalExponentsScanned = current.getExponentsScanned();
+				final long currentRandomFillTimeNanos = delta.getStageTimeNanos(STAGE_RANDOM_FILL);
+				final long currentEcPointEvaluatingTimeNanos = delta.getStageTimeNanos(STAGE_EC_POINT);
+				final long currentAddressGenerationTimeNanos = delta.getStageTimeNanos(STAGE_ADDRESS_GENERATION);
+				final long currentRegexMatchingTimeNanos = delta.getStageTimeNanos(STAGE_REGEX_MATCHING);
 				final long currentTotalTimeNanos = currentRandomFillTimeNanos + currentEcPointEvaluatingTimeNanos
 						+ currentAddressGenerationTimeNanos + currentRegexMatchingTimeNanos;
-				final long deltaTotalExponentsScanned = currentTotalExponentsScanned - lastTotalExponentsScanned;
+				final long deltaTotalExponentsScanned = delta.getExponentsScanned();
+				final long deltaSampledExponents = delta.getSampledExponents();
 
 				// build message
 				message.setLength(0);
@@ -346,25 +588,56 @@ public class AddressMiner {
 								100d * currentEcPointEvaluatingTimeNanos / (double) currentTotalTimeNanos,
 								100d * currentAddressGenerationTimeNanos / (double) currentTotalTimeNanos,
 								100d * currentRegexMatchingTimeNanos / (double) currentTotalTimeNanos
-						));
+						))
+						.append(String.format(" [EC per key: %.01f ns]", (deltaSampledExponents > 0)
+								? currentEcPointEvaluatingTimeNanos / (double) deltaSampledExponents
+								: 0d));
 
 				// log
 				log(message.toString());
+				if (settings.isStatDetails()) {
+					logDetails(current, delta);
+				}
 
 				// update last values
-				lastTotalExponentsScanned = currentTotalExponentsScanned;
-
-				// consume metrics
-				randomFillTimeNanos.getAndUpdate((x) -> x - currentRandomFillTimeNanos);
-				ecPointEvaluatingTimeNanos.getAndUpdate((x) -> x - currentEcPointEvaluatingTimeNanos);
-				addressGenerationTimeNanos.getAndUpdate((x) -> x - currentAddressGenerationTimeNanos);
-				regexMatchingTimeNanos.getAndUpdate((x) -> x - currentRegexMatchingTimeNanos);
+				last = current;
 
 				// update next scheduled time (assume: now >= nextScheduledTime)
 				now = currentTimeMillis();
 				nextScheduledTime += statFreqMs * (1 + (now - nextScheduledTime) / statFreqMs);
 			}
 		}
+
+		// latencies of stages, breakdown by currencies & patterns (latencies are taken for the last period only)
+		private void logDetails(MinerMetrics.Snapshot current, MinerMetrics.Snapshot delta) {
+			final StringBuilder message = new StringBuilder("INFO: stage latencies:");
+			for (int stage = 0; stage < STAGES; stage++) {
+				message.append(" [").append(MinerMetrics.getStageName(stage)).append(": ")
+						.append(formatLatencies(delta.getStageHistogram(stage))).append("]");
+			}
+			log(message.toString());
+
+			final List<String> currencies = metrics.getCurrencies();
+			for (int i = 0; i < currencies.size(); i++) {
+				log(String.format("INFO: currency[%s]: addresses: %d (+%d) [addr gen: %s]",
+						currencies.get(i), current.getAddresses(i), delta.getAddresses(i),
+						formatLatencies(delta.getAddressHistogram(i))));
+			}
+
+			final List<String> patterns = metrics.getPatterns();
+			for (int i = 0; i < patterns.size(); i++) {
+				log(String.format("INFO: pattern #%d %s: evaluations: %d (+%d), hits: %d (+%d) [eval: %s]",
+						i + 1, patterns.get(i), current.getEvaluations(i), delta.getEvaluations(i),
+						current.getHits(i), delta.getHits(i), formatLatencies(delta.getEvaluationHistogram(i))));
+			}
+		}
+
+		private String formatLatencies(long[] histogram) {
+			return String.format("mean %.01f ns, p50 < %d ns, p99 < %d ns",
+					LatencyHistogram.getMean(histogram),
+					LatencyHistogram.getQuantileBound(histogram, 0.5),
+					LatencyHistogram.getQuantileBound(histogram, 0.99));
+		}
 	}
 
 	private static void increment(byte[] exponent) {
@@ -7,7 +7,13 @@ import java.util.concurrent.CountDownLatch;
 import static java.lang.Integer.parseInt;
 import static java.lang.Long.parseLong;
 import static java.lang.System.err;
+import static ru.dzhsoft.blockchain.addressminer.Constants.DEFAULT_BASE_WINDOW;
+import static ru.dzhsoft.blockchain.addressminer.Constants.DEFAULT_BATCHSIZE;
+import static ru.dzhsoft.blockchain.addressminer.Constants.DEFAULT_METRICS_HOST;
+import static ru.dzhsoft.blockchain.addressminer.Constants.DEFAULT_SEED;
+import static ru.dzhsoft.blockchain.addressminer.Constants.DEFAULT_STATSAMPLING;
 import static ru.dzhsoft.blockchain.addressminer.Constants.DEFAULT_SUBSEQLEN;
+import static ru.dzhsoft.blockchain.addressminer.Constants.DEFAULT_WARMUP_SEC;
 import static ru.dzhsoft.blockchain.addressminer.util.Helper.log;
 import static ru.dzhsoft.blockchain.addressminer.util.Helper.parseECPoint;
 
@@ -19,6 +25,7 @@ public class AddressMinerRun {
 
 		// parse options (miner settings)
 		String rulesConfigFilePath = null;
+		String benchmarkReportFilePath = null;
 		final MinerSettings settings = new MinerSettings();
 		for (int i = 0; i < args.length; i++) {
 			final String arg = args[i];
@@ -40,10 +47,50 @@ public class AddressMinerRun {
 						settings.setReuseKeyData(true);
 						break;
 
+					case "negate":
+						settings.setNegation(true);
+						break;
+
+					case "glv":
+						settings.setEndomorphism(true);
+						break;
+
 					case "statfreq":
 						settings.setStatFreqSec(parseLong(getOptionParam(args, ++i)));
 						break;
 
+					case "statsample":
+						settings.setStatSampling(parseInt(getOptionParam(args, ++i)));
+						break;
+
+					case "statdetails":
+						settings.setStatDetails(true);
+						break;
+
+					case "metricsport":
+						settings.setMetricsPort(parseInt(getOptionParam(args, ++i)));
+						break;
+
+					case "metricshost":
+						settings.setMetricsHost(getOptionParam(args, ++i));
+						break;
+
+					case "benchmark":
+						settings.setBenchmarkSec(parseLong(getOptionParam(args, ++i)));
+						break;
+
+					case "warmup":
+						settings.setWarmupSec(parseLong(getOptionParam(args, ++i)));
+						break;
+
+					case "seed":
+						settings.setSeed(parseLong(getOptionParam(args, ++i)));
+						break;
+
+					case "benchreport":
+						benchmarkReportFilePath = getOptionParam(args, ++i);
+						break;
+
 					case "threads":
 						settings.setThreads(parseInt(getOptionParam(args, ++i)));
 						break;
@@ -52,6 +99,14 @@ public class AddressMinerRun {
 						settings.setSubSeqLen(parseInt(getOptionParam(args, ++i)));
 						break;
 
+					case "batchsize":
+						settings.setBatchSize(parseInt(getOptionParam(args, ++i)));
+						break;
+
+					case "basewindow":
+						settings.setBaseWindow(parseInt(getOptionParam(args, ++i)));
+						break;
+
 					case "generator":
 						final String value = getOptionParam(args, ++i);
 						settings.setGenerator(parseECPoint(value));
@@ -87,6 +142,12 @@ public class AddressMinerRun {
 			rulesConfig.load(new FileInputStream(rulesConfigFilePath));
 		}
 
+		// benchmark: run for the fixed time with seeded keys & report results
+		if (settings.isBenchmark()) {
+			new MinerBenchmark(settings, rulesConfig).runAndReport(benchmarkReportFilePath);
+			return;
+		}
+
 		// ensure that random source is existed and readable (unless prng)
 		if (!settings.isUsePrng()) {
 			final File file = new File(settings.getRandomSourceFilePath());
@@ -149,7 +210,29 @@ public class AddressMinerRun {
 		err.println("    --reusekeydata      use bytes from previous exponent in next one (decrease [P]RNG usage)");
 		err.println("    --subseqlen <n>     use <n> subsequent exponents after one random is generated");
 		err.println("                        (reduce EC point evaluation, default is " + DEFAULT_SUBSEQLEN + ")");
+		err.println("    --batchsize <n>     evaluate subsequent EC points by batches of <n> points sharing one");
+		err.println("                        field inversion (default is " + DEFAULT_BATCHSIZE + ", 1 to disable)");
+		err.println("    --basewindow <n>    evaluate fresh exponents by the table of multiples of the generator by <n>");
+		err.println("                        bits windows (default is " + DEFAULT_BASE_WINDOW + ", 64 KB; up to 8, 512 KB): table points");
+		err.println("                        are looked up in constant time (whole windows are read), so larger windows");
+		err.println("                        are slower, it's built once at start");
+		err.println("    --negate            check negated public key -P (i.e. private key N-k) as well,");
+		err.println("                        it's almost free since -P has the same X coordinate");
+		err.println("    --glv               check endomorphism images (BETA*X, Y) and (BETA^2*X, Y) as well, i.e.");
+		err.println("                        private keys LAMBDA*k and LAMBDA^2*k (x6 keys per point with --negate)");
 		err.println("    --statfreq <sec>    print statistic every <sec> seconds (0 to disable, it's default)");
+		err.println("    --statsample <n>    time stages of 1 in <n> iterations on average for the statistic");
+		err.println("                        (default is " + DEFAULT_STATSAMPLING + ", 1 to time each iteration)");
+		err.println("    --statdetails       print latencies of stages, breakdown by currencies and patterns as well");
+		err.println("    --metricsport <n>   serve metrics in Prometheus format on http://<host>:<n>/metrics");
+		err.println("    --metricshost <host> bind metrics endpoint to <host> (default is " + DEFAULT_METRICS_HOST
+				+ ", i.e. local only;");
+		err.println("                        0.0.0.0 to serve all interfaces, metrics aren't protected in any way)");
+		err.println("    --benchmark <sec>   run benchmark for <sec> seconds (after warm-up) with deterministic keys");
+		err.println("                        and print JSON report (throughput, stage shares, JVM & CPU)");
+		err.println("    --warmup <sec>      benchmark warm-up time (default is " + DEFAULT_WARMUP_SEC + " seconds)");
+		err.println("    --seed <n>          benchmark seed of keys (default is " + DEFAULT_SEED + ")");
+		err.println("    --benchreport <file> write benchmark report to <file> instead of stdout");
 		err.println("    --threads <n>       parallel workers count (default is CPU count)");
 		err.println("    --generator <pub>	 use custom generator (points XY - 128 hex chars)");
 		err.println();
@@ -163,7 +246,10 @@ public class AddressMinerRun {
 		err.println("    #07: regex:pattern-m-1");
 		err.println("    #08: regex:pattern-m-2");
 		err.println("    #09: regex:pattern-m-3");
-		err.println("    #10: [...]");
+		err.println("    #10: prefix:address-prefix-m-1");
+		err.println("    #11: suffix:address-suffix-m-1");
+		err.println("    #12: dict:path-to-words-file-m-1");
+		err.println("    #13: [...]");
 		err.println();
 		err.println("  Available currencies:");
 		err.println("    * BTC | default flags {+checksum}");
@@ -181,6 +267,20 @@ public class AddressMinerRun {
 		err.println("    regex:^.JustTest\\d");
 		err.println("    regex:^.BestTest\\d");
 		err.println();
+		err.println("    # prefixes are checked by hash160 ranges, only candidates are formatted (much faster than regex)");
+		err.println("    [BTC, TRX]");
+		err.println("    prefix:1Love");
+		err.println("    prefix:TLove");
+		err.println();
+		err.println("    # suffixes are checked by the last digits of payloads (regexes like ^LIT / LIT$ are converted too)");
+		err.println("    [BTC]");
+		err.println("    suffix:Love");
+		err.println();
+		err.println("    # dictionary: a word per line (^word for prefixes, otherwise substrings), it's memory-mapped");
+		err.println("    [BTC, TRX]");
+		err.println("    dict:brands.txt");
+		err.println();
+		err.println("    # simple hex regexes of hex-only blocks are checked by hash160 nibbles (no formatting)");
 		err.println("    [ETH]");
 		err.println("    regex:^(.)\\\\1{7,}");
 		err.println();
@@ -0,0 +1,182 @@
+package ru.dzhsoft.blockchain.addressminer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ru.dzhsoft.blockchain.addressminer.util.FastRandom;
+import ru.dzhsoft.blockchain.addressminer.util.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Locale;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static ru.dzhsoft.blockchain.addressminer.MinerMetrics.STAGES;
+
+/**
+ * HTTP endpoint serving metrics of the miner in Prometheus text format (GET /metrics). Metrics are read from
+ * snapshots of workers metrics and counters of {@link FastRandom} on request only, i.e. there is no extra work
+ * in miner workers. Throughput is exposed by counters only (rates are up to the scraper, e.g. rate()), so
+ * scrapes have no state and several scrapers don't affect each other.
+ */
+public class MetricsServer {
+	private static final String PREFIX = "addressminer_";
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	private final AddressMiner miner;
+	private final MinerMetrics metrics;
+	private final FastRandom fastRandom;
+	private final HttpServer server;
+
+	/**
+	 * @param host address to bind (e.g. loopback only, metrics aren't protected in any way)
+	 */
+	public MetricsServer(String host, int port, AddressMiner miner, MinerMetrics metrics, FastRandom fastRandom) {
+		this.miner = miner;
+		this.metrics = metrics;
+		this.fastRandom = fastRandom;
+		try {
+			this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+		}
+		catch (IOException e) {
+			throw new RuntimeException("can't listen " + host + ":" + port + " for metrics", e);
+		}
+		server.createContext("/metrics", this::handle);
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	public void shutdown() {
+		server.stop(0);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			final byte[] body = render().getBytes(UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(body);
+			}
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+	String render() {
+		final MinerMetrics.Snapshot snapshot = metrics.getSnapshot();
+		final StringBuilder out = new StringBuilder(0x1000);
+
+		// throughput
+		header(out, "keys_scanned_total", "counter", "Total count of checked keys (exponents)");
+		sample(out, "keys_scanned_total", "", snapshot.getExponentsScanned());
+
+		// stages (times are taken for sampled iterations only, so their shares are meaningful, not totals)
+		header(out, "stage_sampled_seconds_total", "counter", "Time of stages of sampled iterations");
+		for (int stage = 0; stage < STAGES; stage++) {
+			sample(out, "stage_sampled_seconds_total", stageLabel(stage),
+					snapshot.getStageTimeNanos(stage) / NANOS_PER_SECOND);
+		}
+		header(out, "stage_latency_seconds", "histogram", "Latencies of stages of sampled iterations");
+		for (int stage = 0; stage < STAGES; stage++) {
+			histogram(out, "stage_latency_seconds", stageLabel(stage), snapshot.getStageHistogram(stage));
+		}
+
+		// currencies
+		final List<String> currencies = metrics.getCurrencies();
+		header(out, "addresses_generated_total", "counter", "Count of formatted addresses");
+		for (int i = 0; i < currencies.size(); i++) {
+			sample(out, "addresses_generated_total", label("currency", currencies.get(i)), snapshot.getAddresses(i));
+		}
+
+		// patterns
+		final List<String> patterns = metrics.getPatterns();
+		long found = 0;
+		header(out, "pattern_evaluations_total", "counter", "Count of evaluations of patterns");
+		for (int i = 0; i < patterns.size(); i++) {
+			sample(out, "pattern_evaluations_total", label("pattern", patterns.get(i)), snapshot.getEvaluations(i));
+		}
+		header(out, "pattern_hits_total", "counter", "Count of found addresses by patterns");
+		for (int i = 0; i < patterns.size(); i++) {
+			sample(out, "pattern_hits_total", label("pattern", patterns.get(i)), snapshot.getHits(i));
+			found += snapshot.getHits(i);
+		}
+		header(out, "found_addresses_total", "counter", "Count of found addresses");
+		sample(out, "found_addresses_total", "", found);
+
+		// random source
+		header(out, "random_source_bytes_total", "counter", "Bytes read from the random source");
+		sample(out, "random_source_bytes_total", "", fastRandom.getTotalRandomBytesFromSource());
+		header(out, "random_reused_bytes_total", "counter", "Bytes reused from previous random data");
+		sample(out, "random_reused_bytes_total", "", fastRandom.getTotalReusedBytes());
+		header(out, "random_prng_bytes_total", "counter", "Bytes generated by PRNG (fallback or --prng)");
+		sample(out, "random_prng_bytes_total", "", fastRandom.getTotalGeneratedPseudoRandomBytes());
+
+		// workers
+		final List<MinerMetrics.Worker> workers = metrics.getWorkers();
+		header(out, "worker_up", "gauge", "Whether the worker is running");
+		for (int i = 0; i < workers.size(); i++) {
+			sample(out, "worker_up", label("worker", String.valueOf(i + 1)), miner.isWorkerAlive(i) ? 1 : 0);
+		}
+		header(out, "worker_keys_scanned_total", "counter", "Count of keys checked by the worker");
+		for (int i = 0; i < workers.size(); i++) {
+			sample(out, "worker_keys_scanned_total", label("worker", String.valueOf(i + 1)),
+					workers.get(i).getExponentsScanned());
+		}
+		return out.toString();
+	}
+
+	private static void histogram(StringBuilder out, String name, String labels, long[] histogram) {
+		// cumulative buckets up to the last non-empty one
+		int last = 0;
+		for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+			if (histogram[i] != 0) {
+				last = i;
+			}
+		}
+		long count = 0;
+		final String prefix = labels.isEmpty() ? "{" : (labels.substring(0, labels.length() - 1) + ",");
+		for (int i = 0; i <= last; i++) {
+			count += histogram[i];
+			sample(out, name + "_bucket", prefix + "le=\"" + format(LatencyHistogram.getBucketBound(i)
+					/ NANOS_PER_SECOND) + "\"}", count);
+		}
+		sample(out, name + "_bucket", prefix + "le=\"+Inf\"}", LatencyHistogram.getCount(histogram));
+		sample(out, name + "_sum", labels, histogram[LatencyHistogram.SUM] / NANOS_PER_SECOND);
+		sample(out, name + "_count", labels, LatencyHistogram.getCount(histogram));
+	}
+
+	private static String stageLabel(int stage) {
+		return label("stage", MinerMetrics.getStageName(stage));
+	}
+
+	private static String label(String name, String value) {
+		return "{" + name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"}";
+	}
+
+	private static void header(StringBuilder out, String name, String type, String help) {
+		out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+		out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+	}
+
+	private static void sample(StringBuilder out, String name, String labels, long value) {
+		out.append(PREFIX).append(name).append(labels).append(' ').append(value).append('\n');
+	}
+
+	private static void sample(StringBuilder out, String name, String labels, double value) {
+		out.append(PREFIX).append(name).append(labels).append(' ').append(format(value)).append('\n');
+	}
+
+	private static String format(double value) {
+		return String.format(Locale.ROOT, "%.9g", value);
+	}
+}
@@ -0,0 +1,215 @@
+package ru.dzhsoft.blockchain.addressminer;
+
+import ru.dzhsoft.blockchain.addressminer.util.LatencyHistogram;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static ru.dzhsoft.blockchain.addressminer.MinerMetrics.STAGES;
+import static ru.dzhsoft.blockchain.addressminer.util.Helper.log;
+
+/**
+ * Benchmark: the miner is run with deterministic keys (seeded PRNG of each worker instead of the random source)
+ * for a fixed time after a warm-up, the result is a JSON report of the measured period: throughput (overall,
+ * by workers & currencies), stage shares, JVM & CPU details. Keys are derivable from the seed, so found keys
+ * aren't shown.
+ * <p>
+ * The report has {@link #REPORT_SCHEMA_VERSION} (it's increased if fields are renamed or their meaning changes).
+ */
+public class MinerBenchmark {
+	public static final int REPORT_SCHEMA_VERSION = 1;
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	private final MinerSettings settings;
+	private final RulesConfig rulesConfig;
+
+	public MinerBenchmark(MinerSettings settings, RulesConfig rulesConfig) {
+		this.settings = settings;
+		this.rulesConfig = rulesConfig;
+	}
+
+	/**
+	 * Run the benchmark (it takes warm-up & benchmark time).
+	 *
+	 * @return JSON report
+	 */
+	public String run() throws InterruptedException {
+		final AddressMiner miner = new AddressMiner(settings, rulesConfig);
+		final MinerMetrics metrics = miner.getMetrics();
+		miner.start();
+		try {
+			log("INFO: benchmark: warm-up for " + settings.getWarmupSec() + " seconds");
+			Thread.sleep(settings.getWarmupSec() * 1000);
+
+			log("INFO: benchmark: measure for " + settings.getBenchmarkSec() + " seconds");
+			final MinerMetrics.Snapshot first = metrics.getSnapshot();
+			final long[] firstWorkers = getWorkersExponents(metrics);
+			final long startNanos = System.nanoTime();
+			Thread.sleep(settings.getBenchmarkSec() * 1000);
+			final MinerMetrics.Snapshot last = metrics.getSnapshot();
+			final long[] lastWorkers = getWorkersExponents(metrics);
+			final double seconds = (System.nanoTime() - startNanos) / NANOS_PER_SECOND;
+
+			return buildReport(metrics, last.minus(first), firstWorkers, lastWorkers, seconds);
+		}
+		finally {
+			miner.shutdown();
+			miner.join();
+		}
+	}
+
+	/**
+	 * Run the benchmark & write the report to the file (or to stdout if no file is specified).
+	 */
+	public void runAndReport(String reportFilePath) throws InterruptedException, IOException {
+		final String report = run();
+		if (reportFilePath == null) {
+			System.out.println(report);
+		}
+		else {
+			Files.write(Paths.get(reportFilePath), report.getBytes(UTF_8));
+			log("INFO: benchmark: report is written to " + reportFilePath);
+		}
+	}
+
+	private static long[] getWorkersExponents(MinerMetrics metrics) {
+		return metrics.getWorkers().stream().mapToLong(MinerMetrics.Worker::getExponentsScanned).toArray();
+	}
+
+	private String buildReport(
+			MinerMetrics metrics,
+			MinerMetrics.Snapshot delta,
+			long[] firstWorkers,
+			long[] lastWorkers,
+			double seconds
+	) {
+		final StringBuilder json = new StringBuilder(0x1000).append("{\n");
+		json.append("  \"schemaVersion\": ").append(REPORT_SCHEMA_VERSION).append(",\n");
+
+		// settings (everything affecting throughput)
+		json.append("  \"settings\": {")
+				.append("\"durationSec\": ").append(settings.getBenchmarkSec())
+				.append(", \"warmupSec\": ").append(settings.getWarmupSec())
+				.append(", \"seed\": ").append(settings.getSeed())
+				.append(", \"threads\": ").append(settings.getThreads())
+				.append(", \"batchSize\": ").append(settings.getBatchSize())
+				.append(", \"baseWindow\": ").append(settings.getBaseWindow())
+				.append(", \"subSeqLen\": ").append(settings.getSubSeqLen())
+				.append(", \"negation\": ").append(settings.isNegation())
+				.append(", \"endomorphism\": ").append(settings.isEndomorphism())
+				.append(", \"statSampling\": ").append(settings.getStatSampling())
+				.append("},\n");
+
+		// environment
+		final Runtime runtime = Runtime.getRuntime();
+		json.append("  \"environment\": {")
+				.append("\"javaVersion\": ").append(quote(System.getProperty("java.version")))
+				.append(", \"javaVendor\": ").append(quote(System.getProperty("java.vendor")))
+				.append(", \"vmName\": ").append(quote(System.getProperty("java.vm.name")))
+				.append(", \"vmVersion\": ").append(quote(System.getProperty("java.vm.version")))
+				.append(", \"vmArguments\": ")
+				.append(quote(String.join(" ", ManagementFactory.getRuntimeMXBean().getInputArguments())))
+				.append(", \"osName\": ").append(quote(System.getProperty("os.name")))
+				.append(", \"osVersion\": ").append(quote(System.getProperty("os.version")))
+				.append(", \"osArch\": ").append(quote(System.getProperty("os.arch")))
+				.append(", \"cpuModel\": ").append(quote(getCpuModel()))
+				.append(", \"availableProcessors\": ").append(runtime.availableProcessors())
+				.append(", \"maxHeapBytes\": ").append(runtime.maxMemory())
+				.append("},\n");
+
+		// throughput
+		json.append("  \"measuredSec\": ").append(format(seconds)).append(",\n");
+		json.append("  \"keysScanned\": ").append(delta.getExponentsScanned()).append(",\n");
+		json.append("  \"keysPerSecond\": ").append(format(delta.getExponentsScanned() / seconds)).append(",\n");
+		json.append("  \"workers\": [");
+		for (int i = 0; i < lastWorkers.length; i++) {
+			final long keys = lastWorkers[i] - ((i < firstWorkers.length) ? firstWorkers[i] : 0);
+			json.append((i > 0) ? ", " : "")
+					.append("{\"worker\": ").append(i + 1)
+					.append(", \"keysPerSecond\": ").append(format(keys / seconds)).append("}");
+		}
+		json.append("],\n");
+
+		// currencies: each key is checked for each currency (keys per second are the same for all of them),
+		// so they differ by formatted addresses (prechecked rules skip most of them) & their cost
+		final List<String> currencies = metrics.getCurrencies();
+		json.append("  \"currencies\": [");
+		for (int i = 0; i < currencies.size(); i++) {
+			json.append((i > 0) ? ", " : "")
+					.append("{\"currency\": ").append(quote(currencies.get(i)))
+					.append(", \"addressesPerSecond\": ").append(format(delta.getAddresses(i) / seconds))
+					.append(", \"addressGenerationMeanNs\": ")
+					.append(format(LatencyHistogram.getMean(delta.getAddressHistogram(i))))
+					.append("}");
+		}
+		json.append("],\n");
+
+		// stage shares (by times of sampled iterations)
+		long totalNanos = 0;
+		for (int stage = 0; stage < STAGES; stage++) {
+			totalNanos += delta.getStageTimeNanos(stage);
+		}
+		json.append("  \"stageShares\": {");
+		for (int stage = 0; stage < STAGES; stage++) {
+			json.append((stage > 0) ? ", " : "")
+					.append(quote(MinerMetrics.getStageName(stage))).append(": ")
+					.append(format((totalNanos > 0) ? delta.getStageTimeNanos(stage) / (double) totalNanos : 0d));
+		}
+		json.append("},\n");
+
+		// patterns
+		final List<String> patterns = metrics.getPatterns();
+		json.append("  \"patterns\": [");
+		for (int i = 0; i < patterns.size(); i++) {
+			json.append((i > 0) ? ", " : "")
+					.append("{\"pattern\": ").append(quote(patterns.get(i)))
+					.append(", \"evaluationsPerSecond\": ").append(format(delta.getEvaluations(i) / seconds))
+					.append(", \"hits\": ").append(delta.getHits(i))
+					.append("}");
+		}
+		json.append("]\n");
+		return json.append("}").toString();
+	}
+
+	private static String getCpuModel() {
+		try {
+			for (String line : Files.readAllLines(Paths.get("/proc/cpuinfo"), UTF_8)) {
+				if (line.startsWith("model name")) {
+					return line.substring(line.indexOf(':') + 1).trim();
+				}
+			}
+		}
+		catch (IOException | RuntimeException ignore) {
+		}
+		return System.getProperty("os.arch");
+	}
+
+	private static String format(double value) {
+		return String.format(Locale.ROOT, "%.3f", value);
+	}
+
+	private static String quote(String value) {
+		if (value == null) {
+			return "null";
+		}
+		final StringBuilder result = new StringBuilder(value.length() + 2).append('"');
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if ((c == '"') || (c == '\\')) {
+				result.append('\\').append(c);
+			}
+			else if (c < ' ') {
+				result.append(String.format("\\u%04x", (int) c));
+			}
+			else {
+				result.append(c);
+			}
+		}
+		return result.append('"').toString();
+	}
+}
@@ -0,0 +1,274 @@
+package ru.dzhsoft.blockchain.addressminer;
+
+import ru.dzhsoft.blockchain.addressminer.RulesConfig.AddressRule;
+import ru.dzhsoft.blockchain.addressminer.RulesConfig.RulesBlock;
+import ru.dzhsoft.blockchain.addressminer.addrgen.AddressGenerator;
+import ru.dzhsoft.blockchain.addressminer.util.LatencyHistogram;
+import ru.dzhsoft.blockchain.addressminer.util.PaddedCounters;
+import ru.dzhsoft.blockchain.addressminer.util.SampledTimer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Metrics of miner workers: totals, stage times & latency histograms, breakdown by currencies and patterns.
+ * Each worker writes its own metrics (no contention), snapshots are sums of metrics of all the workers.
+ * <p>
+ * Patterns are numbered over all the blocks: regex patterns of a block, then its address rules.
+ */
+public class MinerMetrics {
+	public static final int STAGE_RANDOM_FILL = 0;
+	public static final int STAGE_EC_POINT = 1;
+	public static final int STAGE_ADDRESS_GENERATION = 2;
+	public static final int STAGE_REGEX_MATCHING = 3;
+	public static final int STAGES = 4;
+	private static final String[] STAGE_NAMES = {"fill rand", "EC point", "addr gen", "regex"};
+
+	// counters layout: totals, stage times, addresses by currencies, evaluations & hits by patterns
+	private static final int EXPONENTS_SCANNED = 0;
+	private static final int SAMPLED_EXPONENTS = 1;
+	private static final int STAGE_TIMES = 2;
+	private static final int ADDRESSES = STAGE_TIMES + STAGES;
+
+	private final List<String> currencies;
+	private final List<String> patterns;
+	private final int[] patternBases;
+	private final int[][] currencyIndexes;
+	private final int evaluations;
+	private final int hits;
+	private final int counterCount;
+	private final int sampling;
+	private final List<Worker> workers = new CopyOnWriteArrayList<>();
+
+	/**
+	 * @param sampling mean interval between timed iterations (0 means no timing at all)
+	 */
+	public MinerMetrics(RulesConfig rulesConfig, int sampling) {
+		final List<String> currencies = new ArrayList<>();
+		final List<String> patterns = new ArrayList<>();
+		final List<RulesBlock> blocks = rulesConfig.getRulesBlocks();
+		patternBases = new int[blocks.size()];
+		currencyIndexes = new int[blocks.size()][];
+		for (int b = 0; b < blocks.size(); b++) {
+			final RulesBlock block = blocks.get(b);
+			final List<AddressGenerator> generators = block.getGenerators();
+			currencyIndexes[b] = new int[generators.size()];
+			for (int g = 0; g < generators.size(); g++) {
+				final String currency = generators.get(g).getCurrencyName();
+				if (!currencies.contains(currency)) {
+					currencies.add(currency);
+				}
+				currencyIndexes[b][g] = currencies.indexOf(currency);
+			}
+
+			final String blockName = generators.stream()
+					.map(AddressGenerator::getCurrencyName)
+					.collect(Collectors.joining(", ", "[", "]"));
+			patternBases[b] = patterns.size();
+			for (int i = 0; i < block.getRegexPatterns().size(); i++) {
+				patterns.add(blockName + " regex:" + block.getRegexPatterns().get(i).pattern());
+			}
+			for (AddressRule rule : block.getAddressRules()) {
+				patterns.add(blockName + " " + rule);
+			}
+		}
+		this.currencies = Collections.unmodifiableList(currencies);
+		this.patterns = Collections.unmodifiableList(patterns);
+		this.evaluations = ADDRESSES + currencies.size();
+		this.hits = evaluations + patterns.size();
+		this.counterCount = hits + patterns.size();
+		this.sampling = sampling;
+	}
+
+	public static String getStageName(int stage) {
+		return STAGE_NAMES[stage];
+	}
+
+	public List<String> getCurrencies() {
+		return currencies;
+	}
+
+	/**
+	 * Get names of patterns (currencies of the block and the pattern, e.g. "[BTC, TRX] regex:^1abc").
+	 */
+	public List<String> getPatterns() {
+		return patterns;
+	}
+
+	public int getPatternIndex(int blockIdx, int patternIdx) {
+		return patternBases[blockIdx] + patternIdx;
+	}
+
+	public int getCurrencyIndex(int blockIdx, int generatorIdx) {
+		return currencyIndexes[blockIdx][generatorIdx];
+	}
+
+	/**
+	 * Create metrics of a new worker (they are included into snapshots since now).
+	 */
+	public Worker addWorker(long seed) {
+		final Worker worker = new Worker(seed);
+		workers.add(worker);
+		return worker;
+	}
+
+	public List<Worker> getWorkers() {
+		return Collections.unmodifiableList(workers);
+	}
+
+	public Snapshot getSnapshot() {
+		final Snapshot snapshot = new Snapshot();
+		for (Worker worker : workers) {
+			for (int i = 0; i < counterCount; i++) {
+				snapshot.counters[i] += worker.counters.get(i);
+			}
+			for (int i = 0; i < snapshot.histograms.length; i++) {
+				worker.histograms[i].addTo(snapshot.histograms[i]);
+			}
+		}
+		return snapshot;
+	}
+
+	private int getHistogramCount() {
+		return STAGES + currencies.size() + patterns.size();
+	}
+
+	/**
+	 * Metrics of a single worker (thread unsafe: they are written by the worker thread only).
+	 */
+	public class Worker {
+		private final SampledTimer timer;
+		private final PaddedCounters counters = new PaddedCounters(counterCount);
+		// histograms of stages, address generation by currencies, evaluation of patterns
+		private final LatencyHistogram[] histograms = new LatencyHistogram[getHistogramCount()];
+
+		private Worker(long seed) {
+			this.timer = new SampledTimer(sampling, seed);
+			for (int i = 0; i < histograms.length; i++) {
+				histograms[i] = new LatencyHistogram();
+			}
+		}
+
+		/**
+		 * Get the timer (stage times are taken for its sampled iterations only).
+		 */
+		public SampledTimer getTimer() {
+			return timer;
+		}
+
+		public long getExponentsScanned() {
+			return counters.get(EXPONENTS_SCANNED);
+		}
+
+		public void addExponentScanned() {
+			counters.add(EXPONENTS_SCANNED, 1);
+			if (timer.isSampled()) {
+				counters.add(SAMPLED_EXPONENTS, 1);
+			}
+		}
+
+		public void addStageTime(int stage, long nanos) {
+			if (timer.isSampled()) {
+				counters.add(STAGE_TIMES + stage, nanos);
+				histograms[stage].record(nanos);
+			}
+		}
+
+		/**
+		 * Add generated address: it's a part of the address generation stage.
+		 */
+		public void addAddress(int currencyIdx, long nanos) {
+			counters.add(ADDRESSES + currencyIdx, 1);
+			if (timer.isSampled()) {
+				counters.add(STAGE_TIMES + STAGE_ADDRESS_GENERATION, nanos);
+				histograms[STAGE_ADDRESS_GENERATION].record(nanos);
+				histograms[STAGES + currencyIdx].record(nanos);
+			}
+		}
+
+		/**
+		 * Add evaluation of the pattern: it's a part of the regex matching stage.
+		 */
+		public void addEvaluation(int patternIdx, long nanos) {
+			counters.add(evaluations + patternIdx, 1);
+			if (timer.isSampled()) {
+				counters.add(STAGE_TIMES + STAGE_REGEX_MATCHING, nanos);
+				histograms[STAGE_REGEX_MATCHING].record(nanos);
+				histograms[STAGES + currencies.size() + patternIdx].record(nanos);
+			}
+		}
+
+		public void addHit(int patternIdx) {
+			counters.add(hits + patternIdx, 1);
+		}
+	}
+
+	/**
+	 * Sums of metrics of all the workers.
+	 */
+	public class Snapshot {
+		private final long[] counters = new long[counterCount];
+		private final long[][] histograms = new long[getHistogramCount()][LatencyHistogram.SNAPSHOT_SIZE];
+
+		private Snapshot() {
+		}
+
+		/**
+		 * Get difference between this snapshot and a previous one (i.e. metrics of the period between them).
+		 */
+		public Snapshot minus(Snapshot previous) {
+			final Snapshot delta = new Snapshot();
+			for (int i = 0; i < counterCount; i++) {
+				delta.counters[i] = counters[i] - previous.counters[i];
+			}
+			for (int i = 0; i < histograms.length; i++) {
+				for (int j = 0; j < LatencyHistogram.SNAPSHOT_SIZE; j++) {
+					delta.histograms[i][j] = histograms[i][j] - previous.histograms[i][j];
+				}
+			}
+			return delta;
+		}
+
+		public long getExponentsScanned() {
+			return counters[EXPONENTS_SCANNED];
+		}
+
+		/**
+		 * Get count of exponents scanned by timed iterations (stage times are taken for them only).
+		 */
+		public long getSampledExponents() {
+			return counters[SAMPLED_EXPONENTS];
+		}
+
+		public long getStageTimeNanos(int stage) {
+			return counters[STAGE_TIMES + stage];
+		}
+
+		public long[] getStageHistogram(int stage) {
+			return histograms[stage];
+		}
+
+		public long getAddresses(int currencyIdx) {
+			return counters[ADDRESSES + currencyIdx];
+		}
+
+		public long[] getAddressHistogram(int currencyIdx) {
+			return histograms[STAGES + currencyIdx];
+		}
+
+		public long getEvaluations(int patternIdx) {
+			return counters[evaluations + patternIdx];
+		}
+
+		public long getHits(int patternIdx) {
+			return counters[hits + patternIdx];
+		}
+
+		public long[] getEvaluationHistogram(int patternIdx) {
+			return histograms[STAGES + currencies.size() + patternIdx];
+		}
+	}
+}
@@ -7,9 +7,21 @@ public class MinerSettings {
 	private boolean debugOutput;
 	private boolean usePrng;
 	private boolean reuseKeyData;
+	private boolean negation;
+	private boolean endomorphism;
 	private long statFreqSec;
+	private int statSampling = Constants.DEFAULT_STATSAMPLING;
+	private boolean statDetails;
+	private int metricsPort;
+	private String metricsHost = Constants.DEFAULT_METRICS_HOST;
+	private long benchmarkSec;
+	private long warmupSec = Constants.DEFAULT_WARMUP_SEC;
+	private long seed = Constants.DEFAULT_SEED;
+	private boolean seededKeys;
 	private int threads = Constants.CPU_COUNT;
 	private int subSeqLen = Constants.DEFAULT_SUBSEQLEN;
+	private int batchSize = Constants.DEFAULT_BATCHSIZE;
+	private int baseWindow = Constants.DEFAULT_BASE_WINDOW;
 	private String randomSourceFilePath = FastRandom.DEFAULT_RANDOM_SOURCE_FILE_PATH;
 	private ECPoint generator = Constants.CURVE.getG();
 
@@ -37,6 +49,22 @@ public class MinerSettings {
 		this.reuseKeyData = reuseKeyData;
 	}
 
+	public boolean isNegation() {
+		return negation;
+	}
+
+	public void setNegation(boolean negation) {
+		this.negation = negation;
+	}
+
+	public boolean isEndomorphism() {
+		return endomorphism;
+	}
+
+	public void setEndomorphism(boolean endomorphism) {
+		this.endomorphism = endomorphism;
+	}
+
 	public long getStatFreqSec() {
 		return statFreqSec;
 	}
@@ -45,6 +73,75 @@ public class MinerSettings {
 		this.statFreqSec = statFreqSec;
 	}
 
+	public int getStatSampling() {
+		return statSampling;
+	}
+
+	public void setStatSampling(int statSampling) {
+		this.statSampling = statSampling;
+	}
+
+	public boolean isStatDetails() {
+		return statDetails;
+	}
+
+	public void setStatDetails(boolean statDetails) {
+		this.statDetails = statDetails;
+	}
+
+	public int getMetricsPort() {
+		return metricsPort;
+	}
+
+	public void setMetricsPort(int metricsPort) {
+		this.metricsPort = metricsPort;
+	}
+
+	public String getMetricsHost() {
+		return metricsHost;
+	}
+
+	public void setMetricsHost(String metricsHost) {
+		this.metricsHost = metricsHost;
+	}
+
+	public long getBenchmarkSec() {
+		return benchmarkSec;
+	}
+
+	public void setBenchmarkSec(long benchmarkSec) {
+		this.benchmarkSec = benchmarkSec;
+	}
+
+	public boolean isBenchmark() {
+		return benchmarkSec > 0;
+	}
+
+	public long getWarmupSec() {
+		return warmupSec;
+	}
+
+	public void setWarmupSec(long warmupSec) {
+		this.warmupSec = warmupSec;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	// deterministic keys derived from the seed (insecure, for benchmark & tests only), benchmark always uses them
+	public boolean isSeededKeys() {
+		return seededKeys || isBenchmark();
+	}
+
+	public void setSeededKeys(boolean seededKeys) {
+		this.seededKeys = seededKeys;
+	}
+
 	public int getThreads() {
 		return threads;
 	}
@@ -61,6 +158,22 @@ public class MinerSettings {
 		this.subSeqLen = subSeqLen;
 	}
 
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public int getBaseWindow() {
+		return baseWindow;
+	}
+
+	public void setBaseWindow(int baseWindow) {
+		this.baseWindow = baseWindow;
+	}
+
 	public String getRandomSourceFilePath() {
 		return randomSourceFilePath;
 	}
@@ -1,8 +1,13 @@
 package ru.dzhsoft.blockchain.addressminer;
 
 import ru.dzhsoft.blockchain.addressminer.addrgen.*;
+import ru.dzhsoft.blockchain.addressminer.util.MappedDictionary;
+import ru.dzhsoft.blockchain.addressminer.util.MultiPatternDfa;
+import ru.dzhsoft.blockchain.addressminer.util.NibblePattern;
+import ru.dzhsoft.blockchain.addressminer.util.RegexLiteral;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -37,7 +42,13 @@ public class RulesConfig {
 	private final ETHLikeAddressHash160Generator ethHash160Gen = new ETHLikeAddressHash160Generator();
 
 	private final List<RulesBlock> rulesBlocks = new ArrayList<>();
+	// dictionaries are loaded once (even if they are used by several blocks)
+	private final Map<String, MappedDictionary> dictionaries = new HashMap<>();
 	private final Pattern currencyFormat = Pattern.compile("^([^{}]+)(?:\\{([^{}]*)})?$");
+	// regexes like "^LITERAL", "LITERAL$" or "^.*LITERAL$"
+	private final Pattern literalPrefixRegex = Pattern.compile("^\\^([0-9A-Za-z]+)$");
+	private final Pattern literalSuffixRegex = Pattern.compile("^(?:\\^?\\.\\*)?([0-9A-Za-z]+)\\$$");
+	private final Pattern literalPrefixSuffixRegex = Pattern.compile("^\\^([0-9A-Za-z]+)\\.\\*([0-9A-Za-z]+)\\$$");
 
 	public List<RulesBlock> getRulesBlocks() {
 		return rulesBlocks;
@@ -65,12 +76,82 @@ public class RulesConfig {
 					if (block == null) {
 						throw new WrongRulesConfigException(lineNo, "pattern without currencies block");
 					}
+					final Pattern pattern;
 					try {
-						block.getRegexPatterns().add(Pattern.compile(line.substring(6)));
+						pattern = Pattern.compile(line.substring(6));
 					}
 					catch (PatternSyntaxException e) {
 						throw new WrongRulesConfigException(lineNo, "invalid regex", e);
 					}
+
+					// literal prefix/suffix regexes and hex regexes (for hex addresses only) are checked
+					// as address rules (much cheaper)
+					final AddressRule rule = toAddressRule(pattern, block.getGenerators());
+					if ((rule != null) && rule.isMatchable()) {
+						block.getAddressRules().add(rule);
+					}
+					else {
+						block.getRegexPatterns().add(pattern);
+					}
+				}
+
+				// is it address prefix?
+				else if (line.startsWith("prefix:")) {
+					if (block == null) {
+						throw new WrongRulesConfigException(lineNo, "pattern without currencies block");
+					}
+					final String prefix = line.substring(7);
+					if (prefix.isEmpty()) {
+						throw new WrongRulesConfigException(lineNo, "empty prefix");
+					}
+					final PrefixRule rule = new PrefixRule(prefix, block.getGenerators());
+					if (!rule.isMatchable()) {
+						throw new WrongRulesConfigException(lineNo,
+								"no address of the currencies block can start with: " + prefix);
+					}
+					block.getAddressRules().add(rule);
+				}
+
+				// is it address suffix?
+				else if (line.startsWith("suffix:")) {
+					if (block == null) {
+						throw new WrongRulesConfigException(lineNo, "pattern without currencies block");
+					}
+					final String suffix = line.substring(7);
+					if (suffix.isEmpty()) {
+						throw new WrongRulesConfigException(lineNo, "empty suffix");
+					}
+					final SuffixRule rule = new SuffixRule(suffix, block.getGenerators());
+					if (!rule.isMatchable()) {
+						throw new WrongRulesConfigException(lineNo,
+								"no address of the currencies block can end with: " + suffix);
+					}
+					block.getAddressRules().add(rule);
+				}
+
+				// is it dictionary of prefixes/substrings?
+				else if (line.startsWith("dict:")) {
+					if (block == null) {
+						throw new WrongRulesConfigException(lineNo, "pattern without currencies block");
+					}
+					final String path = line.substring(5).trim();
+					if (path.isEmpty()) {
+						throw new WrongRulesConfigException(lineNo, "empty dictionary path");
+					}
+					MappedDictionary dict = dictionaries.get(path);
+					if (dict == null) {
+						try {
+							dict = MappedDictionary.load(new File(path));
+						}
+						catch (IOException e) {
+							throw new WrongRulesConfigException(lineNo, "can't load dictionary: " + path, e);
+						}
+						if (dict.getWordCount() == 0) {
+							throw new WrongRulesConfigException(lineNo, "empty dictionary: " + path);
+						}
+						dictionaries.put(path, dict);
+					}
+					block.getAddressRules().add(new DictRule(dict));
 				}
 
 				// unknown format
@@ -80,8 +161,35 @@ public class RulesConfig {
 			}
 		}
 
-		// clean up (drop empty blocks)
+		// clean up (drop empty blocks) & compile regexes of each block into one DFA
 		rulesBlocks.removeIf(RulesBlock::isEmpty);
+		for (RulesBlock block : rulesBlocks) {
+			block.compileRegexPatterns();
+		}
+	}
+
+	private AddressRule toAddressRule(Pattern pattern, List<AddressGenerator> generators) {
+		final String regex = pattern.pattern();
+		Matcher m = literalPrefixRegex.matcher(regex);
+		if (m.matches()) {
+			return new PrefixRule(m.group(1), generators);
+		}
+		m = literalSuffixRegex.matcher(regex);
+		if (m.matches()) {
+			return new SuffixRule(m.group(1), generators);
+		}
+		m = literalPrefixSuffixRegex.matcher(regex);
+		if (m.matches()) {
+			return new PrefixSuffixRule(regex, new PrefixRule(m.group(1), generators),
+					new SuffixRule(m.group(2), generators));
+		}
+		for (AddressGenerator gen : generators) {
+			if (!(gen instanceof HexAddressFilter)) {
+				return null;
+			}
+		}
+		final NibblePattern nibblePattern = NibblePattern.compile(regex);
+		return (nibblePattern != null) ? new HexRegexRule(pattern, nibblePattern) : null;
 	}
 
 	private List<AddressGenerator> parseGenerators(int lineNo, String list) throws WrongRulesConfigException {
@@ -191,16 +299,29 @@ public class RulesConfig {
 	public static class RulesBlock {
 		private final List<AddressGenerator> generators;
 		private final List<Pattern> regexPatterns;
+		private final List<AddressRule> addressRules;
+		private MultiPatternDfa regexDfa;
+		private RegexLiteral[] regexLiterals;
 
 		public RulesBlock(List<AddressGenerator> generators) {
 			this(generators, new ArrayList<>());
 		}
 
 		public RulesBlock(List<AddressGenerator> generators, List<Pattern> regexPatterns) {
+			this(generators, regexPatterns, new ArrayList<>());
+		}
+
+		public RulesBlock(
+				List<AddressGenerator> generators,
+				List<Pattern> regexPatterns,
+				List<AddressRule> addressRules
+		) {
 			Objects.requireNonNull(generators);
 			Objects.requireNonNull(regexPatterns);
+			Objects.requireNonNull(addressRules);
 			this.generators = generators;
 			this.regexPatterns = regexPatterns;
+			this.addressRules = addressRules;
 		}
 
 		public List<AddressGenerator> getGenerators() {
@@ -211,8 +332,40 @@ public class RulesConfig {
 			return regexPatterns;
 		}
 
+		public List<AddressRule> getAddressRules() {
+			return addressRules;
+		}
+
+		/**
+		 * Get regex patterns compiled into one DFA (null if they aren't compiled or there are no supported ones),
+		 * see {@link #compileRegexPatterns()}.
+		 */
+		public MultiPatternDfa getRegexDfa() {
+			return regexDfa;
+		}
+
+		/**
+		 * Get mandatory literal of the regex pattern (null if there is no such one or patterns aren't compiled),
+		 * see {@link #compileRegexPatterns()}.
+		 */
+		public RegexLiteral getRegexLiteral(int patternIdx) {
+			return (regexLiterals != null) ? regexLiterals[patternIdx] : null;
+		}
+
+		/**
+		 * Compile current regex patterns into one DFA and extract their mandatory literals
+		 * (it must be recompiled if the patterns are changed).
+		 */
+		public void compileRegexPatterns() {
+			regexDfa = MultiPatternDfa.compile(regexPatterns);
+			regexLiterals = new RegexLiteral[regexPatterns.size()];
+			for (int i = 0; i < regexLiterals.length; i++) {
+				regexLiterals[i] = RegexLiteral.extract(regexPatterns.get(i));
+			}
+		}
+
 		public boolean isEmpty() {
-			return generators.isEmpty() || regexPatterns.isEmpty();
+			return generators.isEmpty() || (regexPatterns.isEmpty() && addressRules.isEmpty());
 		}
 
 		public RulesBlock copy() {
@@ -220,7 +373,329 @@ public class RulesConfig {
 			for (AddressGenerator gen : this.generators) {
 				genCopies.add(gen.copy());
 			}
-			return new RulesBlock(genCopies, new ArrayList<>(regexPatterns));
+			// address rules are immutable (and generators are copied in the same order)
+			final RulesBlock copy =
+					new RulesBlock(genCopies, new ArrayList<>(regexPatterns), new ArrayList<>(addressRules));
+			// DFA & literals are immutable as well
+			copy.regexDfa = regexDfa;
+			copy.regexLiterals = regexLiterals;
+			return copy;
+		}
+	}
+
+	/**
+	 * Simple address rule (literal prefix/suffix), which can be prechecked without (full) address formatting
+	 * for generators supporting it, so only candidates are formatted and checked by {@link #matches(CharSequence)}.
+	 */
+	public static abstract class AddressRule {
+		private final String pattern;
+
+		protected AddressRule(String pattern) {
+			Objects.requireNonNull(pattern);
+			this.pattern = pattern;
+		}
+
+		public String getPattern() {
+			return pattern;
+		}
+
+		/**
+		 * Rule kind (the same as its prefix in the rules config).
+		 */
+		public abstract String getKind();
+
+		/**
+		 * Cheap precheck of the point for the generator (by its index in the block): false means no matching.
+		 */
+		public abstract boolean mayMatch(int generatorIdx, AddressGenerator generator, ECPointData ecp);
+
+		public abstract boolean isMatchable();
+
+		public abstract boolean matches(CharSequence address);
+
+		/**
+		 * Describe matching of the address (for output).
+		 */
+		public String describeMatch(CharSequence address) {
+			return "'" + pattern + "'";
+		}
+
+		@Override
+		public String toString() {
+			return getKind() + ":" + pattern;
+		}
+	}
+
+	/**
+	 * Address prefix (i.e. "starts with" rule), which is checked by hash160 ranges precomputed for each generator
+	 * of the block (when it's supported by the generator, see {@link Hash160PrefixFilter}).
+	 */
+	public static class PrefixRule extends AddressRule {
+		private final long[][] hash160Ranges;
+
+		public PrefixRule(String prefix, List<AddressGenerator> generators) {
+			super(prefix);
+			this.hash160Ranges = new long[generators.size()][];
+			for (int i = 0; i < generators.size(); i++) {
+				final AddressGenerator gen = generators.get(i);
+				if (gen instanceof Hash160PrefixFilter) {
+					hash160Ranges[i] = ((Hash160PrefixFilter) gen).getHash160PrefixRanges(prefix);
+				}
+			}
+		}
+
+		public String getPrefix() {
+			return getPattern();
+		}
+
+		@Override
+		public String getKind() {
+			return "prefix";
+		}
+
+		/**
+		 * Get ranges for the generator (by its index in the block), null if it can't be checked by hash160.
+		 */
+		public long[] getHash160Ranges(int generatorIdx) {
+			return hash160Ranges[generatorIdx];
+		}
+
+		@Override
+		public boolean mayMatch(int generatorIdx, AddressGenerator generator, ECPointData ecp) {
+			final long[] ranges = hash160Ranges[generatorIdx];
+			return (ranges == null) || ((ranges.length > 0) && Hash160PrefixFilter.isInRanges(
+					((Hash160PrefixFilter) generator).getHash160Prefix(ecp), ranges));
+		}
+
+		@Override
+		public boolean isMatchable() {
+			for (long[] ranges : hash160Ranges) {
+				if ((ranges == null) || (ranges.length > 0)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public boolean matches(CharSequence address) {
+			final String prefix = getPattern();
+			if (address.length() < prefix.length()) {
+				return false;
+			}
+			for (int i = 0; i < prefix.length(); i++) {
+				if (address.charAt(i) != prefix.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Address suffix (i.e. "ends with" rule), which is checked by the last digits of the address payload
+	 * (when it's supported by the generator, see {@link SuffixFilter}).
+	 */
+	public static class SuffixRule extends AddressRule {
+		private final long[][] compiledSuffixes;
+
+		public SuffixRule(String suffix, List<AddressGenerator> generators) {
+			super(suffix);
+			this.compiledSuffixes = new long[generators.size()][];
+			for (int i = 0; i < generators.size(); i++) {
+				final AddressGenerator gen = generators.get(i);
+				if (gen instanceof SuffixFilter) {
+					compiledSuffixes[i] = ((SuffixFilter) gen).compileSuffix(suffix);
+				}
+			}
+		}
+
+		public String getSuffix() {
+			return getPattern();
+		}
+
+		@Override
+		public String getKind() {
+			return "suffix";
+		}
+
+		/**
+		 * Get compiled suffix for the generator (by its index in the block), null if it isn't supported.
+		 */
+		public long[] getCompiledSuffix(int generatorIdx) {
+			return compiledSuffixes[generatorIdx];
+		}
+
+		@Override
+		public boolean mayMatch(int generatorIdx, AddressGenerator generator, ECPointData ecp) {
+			final long[] compiled = compiledSuffixes[generatorIdx];
+			return (compiled == null) || ((SuffixFilter) generator).mayEndWith(ecp, compiled);
+		}
+
+		@Override
+		public boolean isMatchable() {
+			for (long[] compiled : compiledSuffixes) {
+				if ((compiled == null) || (compiled.length > 0)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public boolean matches(CharSequence address) {
+			final String suffix = getPattern();
+			final int offset = address.length() - suffix.length();
+			if (offset < 0) {
+				return false;
+			}
+			for (int i = 0; i < suffix.length(); i++) {
+				if (address.charAt(offset + i) != suffix.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Literal prefix & suffix regex ("^LIT.*LIT$"), both of them are prechecked (the cheaper prefix first),
+	 * so only candidates for both are formatted.
+	 */
+	public static class PrefixSuffixRule extends AddressRule {
+		private final PrefixRule prefixRule;
+		private final SuffixRule suffixRule;
+		private final int generatorCount;
+
+		public PrefixSuffixRule(String regex, PrefixRule prefixRule, SuffixRule suffixRule) {
+			super(regex);
+			this.prefixRule = prefixRule;
+			this.suffixRule = suffixRule;
+			this.generatorCount = prefixRule.hash160Ranges.length;
+		}
+
+		public PrefixRule getPrefixRule() {
+			return prefixRule;
+		}
+
+		public SuffixRule getSuffixRule() {
+			return suffixRule;
+		}
+
+		@Override
+		public String getKind() {
+			return "regex";
+		}
+
+		@Override
+		public boolean mayMatch(int generatorIdx, AddressGenerator generator, ECPointData ecp) {
+			return prefixRule.mayMatch(generatorIdx, generator, ecp)
+					&& suffixRule.mayMatch(generatorIdx, generator, ecp);
+		}
+
+		@Override
+		public boolean isMatchable() {
+			// both of them for the same generator
+			for (int i = 0; i < generatorCount; i++) {
+				final long[] ranges = prefixRule.getHash160Ranges(i);
+				final long[] compiled = suffixRule.getCompiledSuffix(i);
+				if (((ranges == null) || (ranges.length > 0)) && ((compiled == null) || (compiled.length > 0))) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public boolean matches(CharSequence address) {
+			// ".*" may be empty, but the prefix & the suffix can't overlap
+			return (address.length() >= prefixRule.getPrefix().length() + suffixRule.getSuffix().length())
+					&& prefixRule.matches(address) && suffixRule.matches(address);
+		}
+	}
+
+	/**
+	 * Regex for hex addresses (all generators of the block are {@link HexAddressFilter}), which is checked
+	 * by nibbles of hash160 (see {@link NibblePattern}), so only candidates are formatted (with checksum
+	 * if necessary) and checked by the regex itself.
+	 */
+	public static class HexRegexRule extends AddressRule {
+		private final Pattern regex;
+		private final NibblePattern nibblePattern;
+
+		public HexRegexRule(Pattern regex, NibblePattern nibblePattern) {
+			super(regex.pattern());
+			Objects.requireNonNull(nibblePattern);
+			this.regex = regex;
+			this.nibblePattern = nibblePattern;
+		}
+
+		public NibblePattern getNibblePattern() {
+			return nibblePattern;
+		}
+
+		@Override
+		public String getKind() {
+			return "regex";
+		}
+
+		@Override
+		public boolean mayMatch(int generatorIdx, AddressGenerator generator, ECPointData ecp) {
+			return nibblePattern.find(((HexAddressFilter) generator).getHash160(ecp), 40);
+		}
+
+		@Override
+		public boolean isMatchable() {
+			return true;
+		}
+
+		@Override
+		public boolean matches(CharSequence address) {
+			// candidates only (the rule is shared between workers, so a matcher can't be reused)
+			return regex.matcher(address).find();
+		}
+	}
+
+	/**
+	 * Dictionary of prefixes/substrings (see {@link MappedDictionary}), which is looked up by the formatted address.
+	 * The dictionary is read-only and shared between all the workers (it isn't copied with the block).
+	 */
+	public static class DictRule extends AddressRule {
+		private final MappedDictionary dictionary;
+
+		public DictRule(MappedDictionary dictionary) {
+			super(dictionary.getPath());
+			this.dictionary = dictionary;
+		}
+
+		public MappedDictionary getDictionary() {
+			return dictionary;
+		}
+
+		@Override
+		public String getKind() {
+			return "dict";
+		}
+
+		@Override
+		public boolean mayMatch(int generatorIdx, AddressGenerator generator, ECPointData ecp) {
+			return true;
+		}
+
+		@Override
+		public boolean isMatchable() {
+			return dictionary.getWordCount() > 0;
+		}
+
+		@Override
+		public boolean matches(CharSequence address) {
+			return dictionary.find(address) >= 0;
+		}
+
+		@Override
+		public String describeMatch(CharSequence address) {
+			final int idx = dictionary.find(address);
+			return super.describeMatch(address) + ((idx >= 0) ? " => " + dictionary.getWord(idx) : "");
 		}
 	}
 }
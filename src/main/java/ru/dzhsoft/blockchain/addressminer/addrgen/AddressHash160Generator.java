@@ -3,5 +3,15 @@ package ru.dzhsoft.blockchain.addressminer.addrgen;
 public interface AddressHash160Generator {
 	void evaluateHash160(byte[] dst, int offset, ECPointData ecp);
 
+	/**
+	 * Evaluate hash160 for a batch of points: dst[i] (at offset) is written for ecps[i], i < count.
+	 * Implementations may compute a few hashes at once (interleaved), by default points are hashed one by one.
+	 */
+	default void evaluateHash160(byte[][] dst, int offset, ECPointData[] ecps, int count) {
+		for (int i = 0; i < count; i++) {
+			evaluateHash160(dst[i], offset, ecps[i]);
+		}
+	}
+
 	AddressHash160Generator copy();
 }
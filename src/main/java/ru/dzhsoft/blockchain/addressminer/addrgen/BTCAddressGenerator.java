@@ -1,23 +1,32 @@
 package ru.dzhsoft.blockchain.addressminer.addrgen;
 
+import ru.dzhsoft.blockchain.addressminer.hash.Sha256;
 import ru.dzhsoft.blockchain.addressminer.util.Base58Encoder;
 import ru.dzhsoft.blockchain.addressminer.util.ReusableCharSequence;
 
-import java.security.DigestException;
-import java.security.MessageDigest;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
-import static java.lang.System.arraycopy;
-import static ru.dzhsoft.blockchain.addressminer.Constants.MD_SHA256_THREAD_LOCAL;
+import static ru.dzhsoft.blockchain.addressminer.util.Base58Encoder.ADDRESS_MAX_ENCODED_SIZE;
+import static ru.dzhsoft.blockchain.addressminer.util.Base58Encoder.ADDRESS_SIZE;
 
 public class BTCAddressGenerator
 		extends BasicAddressGenerator
-		implements OptionalChecksumGenerator<BTCAddressGenerator> {
+		implements OptionalChecksumGenerator<BTCAddressGenerator>, Hash160PrefixFilter, SuffixFilter {
+	private static final BigInteger CHECKSUM_MASK = BigInteger.ONE.shiftLeft(32).subtract(BigInteger.ONE);
+
 	private final String currencyName;
 	private final byte version;
 	private final boolean withCheckSum;
-	private final byte[] hash256 = new byte[32];
-	private final byte[] addressData = new byte[25];
-	private final ReusableCharSequence addressCharSeq = new ReusableCharSequence(36);
+	private final Sha256 sha256 = new Sha256();
+	private final int[] hash256Words = new int[8];
+	private final byte[] addressData = new byte[ADDRESS_SIZE];
+	private final ReusableCharSequence addressCharSeq = new ReusableCharSequence(ADDRESS_MAX_ENCODED_SIZE);
+	private ECPointData preparedEcp;
+	private int preparedModCount;
+	private long preparedMod58Pow5 = -1;
+	private BTCAddressGenerator generatorWithCheckSum;
 
 	public BTCAddressGenerator(
 			String currencyName,
@@ -34,38 +43,71 @@ public class BTCAddressGenerator
 	@Override
 	protected CharSequence generateAddress0(ECPointData ecp) {
 		prepare(ecp);
-		final int size = Base58Encoder.encodeInto(addressData, addressCharSeq.getBuffer(), 0);
+		final int size = Base58Encoder.encode25Into(addressData, addressCharSeq.getBuffer(), 0);
 		addressCharSeq.setLen(size);
 		return addressCharSeq;
 	}
 
 	void prepare(ECPointData ecp) {
-		try {
-			// fill addr part: {<version>[????][????]}
-			addressData[0] = version;
-
-			// fill addr part: {[version]<hash160>[????]}
-			getAddressHash160Generator().evaluateHash160(addressData, 1, ecp);
-
-			// evaluate & fill checksum (if necessary)
-			if (withCheckSum) {
-				final MessageDigest sha256 = MD_SHA256_THREAD_LOCAL.get();
-				sha256.reset();
-				sha256.reset();
-				sha256.update(addressData, 0, 21);
-				sha256.digest(hash256, 0, hash256.length);
-				sha256.update(hash256);
-				sha256.digest(hash256, 0, hash256.length);
-
-				// fill addr checksum: {[version][hash160]<CHECKSUM>}
-				arraycopy(hash256, 0, addressData, 21, 4);
-			}
+		// already prepared (e.g. by suffix check)?
+		if ((preparedEcp == ecp) && (preparedModCount == ecp.getModCount())) {
+			return;
 		}
-		catch (DigestException e) {
-			throw new RuntimeException(e);
+		preparedEcp = ecp;
+		preparedModCount = ecp.getModCount();
+		preparedMod58Pow5 = -1;
+
+		// fill addr part: {<version>[????][????]}
+		addressData[0] = version;
+
+		// fill addr part: {[version]<hash160>[????]}
+		getAddressHash160Generator().evaluateHash160(addressData, 1, ecp);
+
+		// evaluate & fill checksum (if necessary)
+		if (withCheckSum) {
+			// double sha256 (the second round is applied to words of the first one as is)
+			sha256.hash21(addressData, 0, hash256Words);
+			sha256.hash32(hash256Words, hash256Words);
+
+			// fill addr checksum: {[version][hash160]<CHECKSUM>}
+			Sha256.toBytes(hash256Words, addressData, 21, 4);
 		}
 	}
 
+	@Override
+	public long[] getHash160PrefixRanges(String prefix) {
+		// address payload: <version><hash160><checksum> = version * 2^192 + hash160 * 2^32 + checksum
+		final BigInteger min = BigInteger.valueOf(version & 0xFF).shiftLeft(192);
+		final BigInteger max = min.add(BigInteger.ONE.shiftLeft(192));
+		final List<long[]> ranges = new ArrayList<>();
+		for (BigInteger[] interval : Base58Encoder.getPrefixIntervals(prefix, ADDRESS_SIZE, min, max)) {
+			// hash160 (for any checksum) is in [floor(from / 2^32), ceil(to / 2^32)), get its first 8 bytes
+			final BigInteger from = interval[0].subtract(min).shiftRight(32);
+			final BigInteger to = interval[1].subtract(min).add(CHECKSUM_MASK).shiftRight(32)
+					.subtract(BigInteger.ONE);
+			ranges.add(new long[] { from.shiftRight(96).longValue(), to.shiftRight(96).longValue() });
+		}
+		return Hash160PrefixFilter.joinRanges(ranges);
+	}
+
+	@Override
+	public long[] compileSuffix(String suffix) {
+		return Base58Encoder.getSuffixResidue(suffix, ADDRESS_SIZE);
+	}
+
+	@Override
+	public boolean mayEndWith(ECPointData ecp, long[] compiledSuffix) {
+		if (compiledSuffix.length == 0) {
+			return false;
+		}
+		// the last 5 chars are evaluated once per point (for all suffixes)
+		prepare(ecp);
+		if (preparedMod58Pow5 < 0) {
+			preparedMod58Pow5 = Base58Encoder.mod58Pow5(addressData);
+		}
+		return (preparedMod58Pow5 % compiledSuffix[0]) == compiledSuffix[1];
+	}
+
 	@Override
 	public String getCurrencyName() {
 		return currencyName;
@@ -86,7 +128,14 @@ public class BTCAddressGenerator
 		if (withCheckSum) {
 			return this;
 		}
-		// reuse the same hash160 generator to avoid hash recomputation
-		return new BTCAddressGenerator(currencyName, version, getAddressHash160Generator(), true);
+		// it's created once (it's used to recheck each candidate),
+		// reuse the same hash160 generator to avoid hash recomputation (it's replaced by a shared one in workers)
+		if (generatorWithCheckSum == null) {
+			generatorWithCheckSum = new BTCAddressGenerator(currencyName, version, getAddressHash160Generator(), true);
+		}
+		else {
+			generatorWithCheckSum.setAddressHash160Generator(getAddressHash160Generator());
+		}
+		return generatorWithCheckSum;
 	}
 }
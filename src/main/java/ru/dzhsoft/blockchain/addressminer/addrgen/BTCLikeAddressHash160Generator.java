@@ -1,19 +1,18 @@
 package ru.dzhsoft.blockchain.addressminer.addrgen;
 
-import org.bouncycastle.crypto.digests.GeneralDigest;
+import ru.dzhsoft.blockchain.addressminer.hash.Ripemd160;
+import ru.dzhsoft.blockchain.addressminer.hash.Sha256;
 
-import java.security.DigestException;
-import java.security.MessageDigest;
 import java.util.Arrays;
 
 import static java.lang.System.arraycopy;
-import static ru.dzhsoft.blockchain.addressminer.Constants.MD_RIPEMD160_THREAD_LOCAL;
-import static ru.dzhsoft.blockchain.addressminer.Constants.MD_SHA256_THREAD_LOCAL;
 
 public class BTCLikeAddressHash160Generator
 		implements AddressHash160Generator, Cloneable {
+	private final Sha256 sha256 = new Sha256();
+	private final Ripemd160 ripemd160 = new Ripemd160();
 	private final byte[] compressedPublicKey = new byte[33];
-	private final byte[] hash256 = new byte[32];
+	private final int[] hash256Words = new int[8];
 
 	private final byte[] lastCompressedPublicKey = new byte[33];
 	private final byte[] lastHash160 = new byte[20];
@@ -24,41 +23,25 @@ public class BTCLikeAddressHash160Generator
 		compressedPublicKey[0] = ecp.getYParity();
 		arraycopy(ecp.publicX, 0, compressedPublicKey, 1, 32);
 
-		// compute "<Y_parity><X>" hash160 unless it's already computed
-		// (when no changes in pubkey from previous invocation, we can reuse it as is)
-		if (!Arrays.equals(compressedPublicKey, lastCompressedPublicKey)) {
-			computeHash160();
+		// reuse "<Y_parity><X>" hash160 if it's already computed
+		// (when no changes in pubkey from previous invocation)
+		if (Arrays.equals(compressedPublicKey, lastCompressedPublicKey)) {
+			arraycopy(lastHash160, 0, dst, offset, 20);
+			return;
 		}
 
-		// write result
-		arraycopy(lastHash160, 0, dst, offset, 20);
-	}
-
-	private void computeHash160() {
-		try {
-			// evaluate sha256 + ripemd160
-			final MessageDigest sha256 = MD_SHA256_THREAD_LOCAL.get();
-			sha256.reset();
-			sha256.update(compressedPublicKey);
-			sha256.digest(hash256, 0, hash256.length);
-			final GeneralDigest ripemd160 = MD_RIPEMD160_THREAD_LOCAL.get();
-			ripemd160.reset();
-			ripemd160.update(hash256, 0, hash256.length);
-			ripemd160.doFinal(lastHash160, 0);
-
-			// save last compressed pkey
-			arraycopy(compressedPublicKey, 0, lastCompressedPublicKey, 0, 33);
-		}
-		catch (DigestException e) {
-			throw new RuntimeException(e);
-		}
+		// evaluate sha256 + ripemd160 (write result as is, then save it)
+		sha256.hash33(compressedPublicKey, 0, hash256Words);
+		ripemd160.hash32(hash256Words, dst, offset);
+		arraycopy(dst, offset, lastHash160, 0, 20);
+		arraycopy(compressedPublicKey, 0, lastCompressedPublicKey, 0, 33);
 	}
 
 	@Override
 	public AddressHash160Generator copy() {
 		final BTCLikeAddressHash160Generator copy = new BTCLikeAddressHash160Generator();
 		arraycopy(compressedPublicKey, 0, copy.compressedPublicKey, 0, compressedPublicKey.length);
-		arraycopy(hash256, 0, copy.hash256, 0, hash256.length);
+		arraycopy(hash256Words, 0, copy.hash256Words, 0, hash256Words.length);
 		arraycopy(lastCompressedPublicKey, 0, copy.lastCompressedPublicKey, 0, lastCompressedPublicKey.length);
 		arraycopy(lastHash160, 0, copy.lastHash160, 0, lastHash160.length);
 		return copy;
@@ -2,11 +2,16 @@ package ru.dzhsoft.blockchain.addressminer.addrgen;
 
 import java.util.Objects;
 
+import static ru.dzhsoft.blockchain.addressminer.util.Helper.getLongBE;
+
 public abstract class BasicAddressGenerator implements AddressGenerator {
 	private AddressHash160Generator hash160Generator;
 	private ECPointData lastEcp;
 	private int lastModCount;
 	private CharSequence lastAddress;
+	private ECPointData lastHash160Ecp;
+	private int lastHash160ModCount;
+	private final byte[] hash160 = new byte[20];
 
 	@Override
 	public AddressHash160Generator getAddressHash160Generator() {
@@ -29,5 +34,24 @@ public abstract class BasicAddressGenerator implements AddressGenerator {
 		return lastAddress;
 	}
 
+	/**
+	 * Get hash160 for the point (the returned buffer is reused, it must not be modified).
+	 */
+	public byte[] getHash160(ECPointData ecp) {
+		if ((lastHash160Ecp != ecp) || (lastHash160ModCount != ecp.getModCount())) {
+			lastHash160Ecp = ecp;
+			lastHash160ModCount = ecp.getModCount();
+			hash160Generator.evaluateHash160(hash160, 0, ecp);
+		}
+		return hash160;
+	}
+
+	/**
+	 * Get the first 8 bytes of hash160 (as unsigned big-endian long) for the point, see {@link Hash160PrefixFilter}.
+	 */
+	public long getHash160Prefix(ECPointData ecp) {
+		return getLongBE(getHash160(ecp), 0);
+	}
+
 	protected abstract CharSequence generateAddress0(ECPointData ecp);
 }
@@ -1,45 +1,211 @@
 package ru.dzhsoft.blockchain.addressminer.addrgen;
 
 import org.bouncycastle.math.ec.ECPoint;
-import org.bouncycastle.math.ec.FixedPointCombMultiplier;
-import org.bouncycastle.math.ec.custom.sec.SecP256K1FieldElement;
+import ru.dzhsoft.blockchain.addressminer.ec.FixedBaseTable;
+import ru.dzhsoft.blockchain.addressminer.ec.JacobianPoint;
+import ru.dzhsoft.blockchain.addressminer.ec.Secp256k1Field;
+import ru.dzhsoft.blockchain.addressminer.jfr.MinerEvents;
 
-import java.lang.reflect.Field;
 import java.math.BigInteger;
-import java.util.Objects;
 
 import static ru.dzhsoft.blockchain.addressminer.Constants.CURVE;
+import static ru.dzhsoft.blockchain.addressminer.Constants.DEFAULT_BASE_WINDOW;
+import static ru.dzhsoft.blockchain.addressminer.ec.Secp256k1Field.*;
+import static ru.dzhsoft.blockchain.addressminer.util.Helper.toBytes32;
 
 public class ECPointData {
-	private final FixedPointCombMultiplier multiplier = new FixedPointCombMultiplier();
+	// secp256k1 endomorphism: (X, Y) -> (BETA * X, Y) = P x LAMBDA (and BETA^3 = 1, LAMBDA^3 = 1)
+	private static final int[] BETA =
+			fromBigInteger(new BigInteger("7AE96A2B657C07106E64479EAC3434E99CF0497512F58995C1396C28719501EE", 16));
+	private static final int[] BETA_SQ =
+			fromBigInteger(new BigInteger("851695D49A83F8EF919BB86153CBCB16630FB68AED0A766A3EC693D68E6AFA40", 16));
+	private static final BigInteger LAMBDA =
+			new BigInteger("5363AD4CC05C30E0A5261C028812645A122E22EA20816678DF02967C1B23BD72", 16);
+	private static final BigInteger LAMBDA_SQ =
+			new BigInteger("AC9C52B33FA3CF1F5AD9E3FD77ED9BA4A880B9FC8EC739C2E0CFC810B51283CE", 16);
+	private static final MinerEvents EVENTS = MinerEvents.get();
+	private static final byte[] ORDER = toBytes32(CURVE.getN());
+
+	private final Secp256k1Field field = new Secp256k1Field();
+	private final FixedBaseTable baseTable;
+	private final JacobianPoint product = new JacobianPoint(field);
 
 	public final byte[] publicX = new byte[32];
 	public final byte[] publicY = new byte[32];
 
-	private final Field fieldData;
 	private final ECPoint generator;
-
-	private ECPoint ecPoint;
+	private final boolean withNegation;
+	private final boolean withEndomorphism;
+	private boolean initialized = false;
 	private int modCount = 0;
 
-	{
-		try {
-			fieldData = SecP256K1FieldElement.class.getDeclaredField("x");
-		}
-		catch (NoSuchFieldException e) {
-			throw new RuntimeException(e);
-		}
-		fieldData.setAccessible(true);
-	}
+	// the current point (affine) & its selected variant (see `getVariantCount()`)
+	private int[] pointX;
+	private int[] pointY;
+	private int variant = 0;
+	private int variantXIdx = 0; // X is multiplied by BETA^variantXIdx
+	private boolean variantNegY = false;
+	private boolean negYEvaluated = false;
+	private final int[] variantX = create();
+	private final int[] negatedY = create();
+
+	// multiples of generator (affine): G, 2G, ..., NG
+	private final int[][] multiplesX;
+	private final int[][] multiplesY;
+
+	// the base point P of the next batch (affine)
+	private final int[] baseX = create();
+	private final int[] baseY = create();
+
+	// batch of subsequent points (P+G, P+2G, ..., P+NG), evaluated at once
+	private final int[][] batchX;
+	private final int[][] batchY;
+	private int batchPos = 0;
+	private int batchLen = 0;
+	private final int[] inv = create();
+	private final int[] dxInv = create();
+	private final int[] lambda = create();
 
 	public ECPointData(ECPoint generator) {
-		this.generator = generator;
+		this(generator, 1);
+	}
+
+	public ECPointData(ECPoint generator, int batchSize) {
+		this(generator, batchSize, false, false);
+	}
+
+	public ECPointData(ECPoint generator, int batchSize, boolean withNegation, boolean withEndomorphism) {
+		this(FixedBaseTable.getShared(generator, DEFAULT_BASE_WINDOW), batchSize, withNegation, withEndomorphism);
+	}
+
+	/**
+	 * @param baseTable multiples of the generator (the table is shared, it's read only)
+	 */
+	public ECPointData(FixedBaseTable baseTable, int batchSize, boolean withNegation, boolean withEndomorphism) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batchSize=" + batchSize + " (must be positive)");
+		}
+		this.baseTable = baseTable;
+		this.generator = baseTable.getBase();
+		this.withNegation = withNegation;
+		this.withEndomorphism = withEndomorphism;
+		this.batchX = new int[batchSize][LIMBS];
+		this.batchY = new int[batchSize][LIMBS];
+		this.multiplesX = new int[batchSize][LIMBS];
+		this.multiplesY = new int[batchSize][LIMBS];
+
+		// evaluate multiples of generator using BC (it's done once)
+		final ECPoint[] multiples = new ECPoint[batchSize];
+		multiples[0] = generator.normalize();
+		for (int i = 1; i < batchSize; i++) {
+			multiples[i] = multiples[i - 1].add(generator);
+		}
+		generator.getCurve().normalizeAll(multiples);
+		for (int i = 0; i < batchSize; i++) {
+			fromBytes(multiples[i].getAffineXCoord().getEncoded(), 0, multiplesX[i]);
+			fromBytes(multiples[i].getAffineYCoord().getEncoded(), 0, multiplesY[i]);
+		}
 	}
 
 	public ECPoint getGenerator() {
 		return generator;
 	}
 
+	public int getBatchSize() {
+		return batchX.length;
+	}
+
+	/**
+	 * Each evaluated point P = G x k gives a few more public keys almost for free:
+	 * <ul>
+	 * <li>its negation -P = (X, p - Y) = G x (N - k), when negation is enabled;</li>
+	 * <li>endomorphism images (BETA * X, Y) = G x (LAMBDA * k) and (BETA^2 * X, Y) = G x (LAMBDA^2 * k),
+	 * when endomorphism is enabled (and their negations as well, if negation is enabled).</li>
+	 * </ul>
+	 * Variant 0 is always the point P itself, odd variants are negations when negation is enabled.
+	 */
+	public int getVariantCount() {
+		return (withNegation ? 2 : 1) * (withEndomorphism ? 3 : 1);
+	}
+
+	public int getVariant() {
+		return variant;
+	}
+
+	public void selectVariant(int variant) {
+		if (this.variant == variant) {
+			return;
+		}
+		if ((variant < 0) || (variant >= getVariantCount())) {
+			throw new IllegalArgumentException("variant=" + variant + " (variants: " + getVariantCount() + ")");
+		}
+		this.variant = variant;
+		modCount++;
+
+		// X: multiply by BETA (or BETA^2) unless it's already done for previous variant
+		final int xIdx = withNegation ? (variant >>> 1) : variant;
+		if (xIdx != variantXIdx) {
+			variantXIdx = xIdx;
+			if (xIdx == 0) {
+				toBytes(pointX, publicX, 0);
+			}
+			else {
+				field.multiply(pointX, (xIdx == 1) ? BETA : BETA_SQ, variantX);
+				toBytes(variantX, publicX, 0);
+			}
+		}
+
+		// Y: -P = (X, p - Y)
+		final boolean negY = withNegation && ((variant & 0x01) != 0);
+		if (negY != variantNegY) {
+			variantNegY = negY;
+			if (negY) {
+				if (!negYEvaluated) {
+					negate(pointY, negatedY);
+					negYEvaluated = true;
+				}
+				toBytes(negatedY, publicY, 0);
+			}
+			else {
+				toBytes(pointY, publicY, 0);
+			}
+		}
+	}
+
+	/**
+	 * Get private key of the selected variant for the given (last updated) exponent.
+	 */
+	public byte[] getVariantExponent(byte[] exponent) {
+		if (variant == 0) {
+			return exponent.clone();
+		}
+		final BigInteger n = CURVE.getN();
+		BigInteger privKey = new BigInteger(1, exponent);
+		if (variantXIdx != 0) {
+			privKey = privKey.multiply((variantXIdx == 1) ? LAMBDA : LAMBDA_SQ).mod(n);
+		}
+		if (variantNegY) {
+			privKey = n.subtract(privKey);
+		}
+		return toBytes32(privKey);
+	}
+
+	private void resetVariant() {
+		variant = 0;
+		variantXIdx = 0;
+		variantNegY = false;
+		negYEvaluated = false;
+	}
+
+	// field limbs of the selected variant (the same values as `publicX` & `publicY`, must not be modified)
+	int[] getLimbsX() {
+		return (variantXIdx == 0) ? pointX : variantX;
+	}
+
+	int[] getLimbsY() {
+		return variantNegY ? negatedY : pointY;
+	}
+
 	public byte getYParity() {
 		return (byte) (0x02 | (publicY[31] & 0x01));
 	}
@@ -47,73 +213,137 @@ public class ECPointData {
 	public boolean update(byte[] exponent) {
 		assert (exponent.length == 32) : "Wrong exponent length=" + exponent.length;
 
-		// mk private key for an exponent (just build the BigInteger)
-		final BigInteger privKey = new BigInteger(1, exponent);
-
-		// is Pkey valid?
-		if (privKey.compareTo(CURVE.getN()) >= 0) {
+		// is Pkey valid (0 < Pkey < N)?
+		if (!isValidExponent(exponent)) {
 			return false;
 		}
 
-		// multiply G x Pkey
-		ecPoint = multiplier.multiply(generator, privKey).normalize();
+		// multiply G x Pkey (by the table of multiples of G, then it's converted to affine coordinates)
+		if (!baseTable.multiply(exponent, product)) {
+			return false;
+		}
+		product.toAffine(baseX, baseY);
 		modCount++;
 
-		// get X & Y
-		extractXY();
+		// get X & Y (use them as the base point for the next batch)
+		toBytes(baseX, publicX, 0);
+		toBytes(baseY, publicY, 0);
+		pointX = baseX;
+		pointY = baseY;
+		resetVariant();
+
+		// drop the rest of previous batch (if any)
+		batchPos = batchLen = 0;
+		initialized = true;
 
 		// all done
 		return true;
 	}
 
+	private static boolean isValidExponent(byte[] exponent) {
+		boolean isZero = true;
+		for (byte b : exponent) {
+			isZero &= (b == 0);
+		}
+		if (isZero) {
+			return false;
+		}
+		// compare with N (big-endian unsigned)
+		for (int i = 0; i < ORDER.length; i++) {
+			final int a = exponent[i] & 0xFF, n = ORDER[i] & 0xFF;
+			if (a != n) {
+				return a < n;
+			}
+		}
+		return false;
+	}
+
 	public boolean updateNextSubsequent() {
-		Objects.requireNonNull(ecPoint, "use `update(exponent)` method first");
+		if (!initialized) {
+			throw new IllegalStateException("use `update(exponent)` method first");
+		}
 
-		// just add one more G to the previous point:
-		// G x Pkey + G = G x (Pkey + 1)
-		ecPoint = ecPoint.add(generator).normalize();
+		// take next point of the batch (evaluate next batch when current one is exhausted)
 		modCount++;
-
-		// avoid point at infinity
-		if (ecPoint.isInfinity()) {
+		if ((batchPos >= batchLen) && !evaluateNextBatch()) {
+			// avoid point at infinity (and doubling): restart is required
+			initialized = false;
 			return false;
 		}
+		final int i = batchPos++;
+		pointX = batchX[i];
+		pointY = batchY[i];
+		resetVariant();
 
 		// get X & Y
-		extractXY();
+		toBytes(pointX, publicX, 0);
+		toBytes(pointY, publicY, 0);
 
 		// all done
 		return true;
 	}
 
-	private void extractXY() {
-		final int[] x, y;
-		try {
-			x = (int[]) fieldData.get(ecPoint.getXCoord());
-			y = (int[]) fieldData.get(ecPoint.getYCoord());
+	private boolean evaluateNextBatch() {
+		// the event is null unless a recording needs it
+		final Object event = EVENTS.beginEcBatch();
+		final boolean evaluated = evaluateBatch();
+		if (event != null) {
+			EVENTS.commitEcBatch(event, batchX.length, evaluated);
+		}
+		return evaluated;
+	}
+
+	private boolean evaluateBatch() {
+		// P + iG (affine): lambda = (y_iG - y_P) / (x_iG - x_P),
+		// x = lambda^2 - x_P - x_iG, y = lambda * (x_P - x) - y_P;
+		// all the divisions share only one field inversion (Montgomery's trick),
+		// while batch arrays are used to keep intermediate values:
+		// batchX[i] = dx[i] = x_iG - x_P, batchY[i] = dx[0] * dx[1] * ... * dx[i]
+		final int n = batchX.length;
+		for (int i = 0; i < n; i++) {
+			subtract(multiplesX[i], baseX, batchX[i]);
+			if (isZero(batchX[i])) {
+				// P = +/- iG (doubling or point at infinity)
+				return false;
+			}
+			if (i == 0) {
+				copy(batchX[0], batchY[0]);
+			}
+			else {
+				field.multiply(batchY[i - 1], batchX[i], batchY[i]);
+			}
 		}
-		catch (IllegalAccessException e) {
-			throw new RuntimeException(e);
+		field.invert(batchY[n - 1], inv);
+		for (int i = n - 1; i >= 0; i--) {
+			// 1/dx[i] = 1/(dx[0]*...*dx[i]) * (dx[0]*...*dx[i-1])
+			if (i > 0) {
+				field.multiply(inv, batchY[i - 1], dxInv);
+				field.multiply(inv, batchX[i], inv);
+			}
+			else {
+				copy(inv, dxInv);
+			}
+
+			final int[] x = batchX[i], y = batchY[i];
+			subtract(multiplesY[i], baseY, lambda);
+			field.multiply(lambda, dxInv, lambda);
+			field.square(lambda, x);
+			subtract(x, baseX, x);
+			subtract(x, multiplesX[i], x);
+			subtract(baseX, x, y);
+			field.multiply(lambda, y, y);
+			subtract(y, baseY, y);
 		}
-		repackFieldInt2Byte(x, publicX);
-		repackFieldInt2Byte(y, publicY);
+
+		// P + NG is the base point for the next batch
+		copy(batchX[n - 1], baseX);
+		copy(batchY[n - 1], baseY);
+		batchPos = 0;
+		batchLen = n;
+		return true;
 	}
 
 	public int getModCount() {
 		return modCount;
 	}
-
-	@SuppressWarnings("PointlessArithmeticExpression")
-	private static void repackFieldInt2Byte(int[] src, byte[] dst) {
-		assert (src.length * 4 == dst.length)
-				: String.format("src.len=%d (x4) vs dst.len=%d (x1)", src.length, dst.length);
-		for (int i = 0; i < src.length; i++) {
-			final int j = (src.length - i - 1) << 2;
-			final int v = src[i];
-			dst[j + 0] = (byte) (v >>> 24);
-			dst[j + 1] = (byte) (v >>> 16);
-			dst[j + 2] = (byte) (v >>> 8);
-			dst[j + 3] = (byte) v;
-		}
-	}
 }
@@ -1,15 +1,13 @@
 package ru.dzhsoft.blockchain.addressminer.addrgen;
 
+import ru.dzhsoft.blockchain.addressminer.hash.Keccak256;
 import ru.dzhsoft.blockchain.addressminer.util.ReusableCharSequence;
 
-import java.security.DigestException;
-import java.security.MessageDigest;
-
-import static ru.dzhsoft.blockchain.addressminer.Constants.MD_KECCAK256_THREAD_LOCAL;
+import static ru.dzhsoft.blockchain.addressminer.util.Helper.getLongBE;
 
 public class ETHAddressGenerator
 		extends BasicAddressGenerator
-		implements OptionalChecksumGenerator<ETHAddressGenerator> {
+		implements OptionalChecksumGenerator<ETHAddressGenerator>, Hash160PrefixFilter, SuffixFilter, HexAddressFilter {
 	private final static char[] HEX_CHARS_LOWER = "0123456789abcdef".toCharArray();
 
 	private final String currencyName;
@@ -17,7 +15,8 @@ public class ETHAddressGenerator
 	private final byte[] addressBytes = new byte[20];
 	private final ReusableCharSequence addressCharSeq = new ReusableCharSequence(addressBytes.length * 2);
 	private final char[] addressChars = addressCharSeq.getBuffer();
-	private final byte[] checksumHash256 = new byte[32];
+	private final Keccak256 keccak256 = new Keccak256();
+	private ETHAddressGenerator generatorWithCheckSum;
 
 	public ETHAddressGenerator(String currencyName, AddressHash160Generator hashGen) {
 		this(currencyName, hashGen, true);
@@ -44,20 +43,10 @@ public class ETHAddressGenerator
 		// checksum:
 		// uppercase letters for which tetrades of the checksum (keccak256) has high (4th) bit is set
 		if (withCheckSum) {
-			final MessageDigest sha3keccak256 = MD_KECCAK256_THREAD_LOCAL.get();
-			sha3keccak256.reset();
-			for (int i = 0; i < (addressBytes.length * 2); i++) {
-				sha3keccak256.update((byte) addressChars[i]);
-			}
-			try {
-				sha3keccak256.digest(checksumHash256, 0, checksumHash256.length);
-			}
-			catch (DigestException e) {
-				throw new RuntimeException(e);
-			}
+			keccak256.hashAscii40(addressChars, 0);
 			for (int i = 0; i < (addressBytes.length * 2); i++) {
 				if ((addressChars[i] >= 'a') && (addressChars[i] <= 'f')
-						&& ((checksumHash256[i >>> 1] & (0x08 << (((i + 1) & 0x01) * 4))) != 0)) {
+						&& ((keccak256.getByte(i >>> 1) & (0x08 << (((i + 1) & 0x01) * 4))) != 0)) {
 					addressChars[i] += 'A' - 'a';
 				}
 			}
@@ -69,6 +58,55 @@ public class ETHAddressGenerator
 		getAddressHash160Generator().evaluateHash160(addressBytes, 0, ecp);
 	}
 
+	@Override
+	public long[] getHash160PrefixRanges(String prefix) {
+		if (!isHexPattern(prefix)) {
+			return new long[0];
+		}
+		final int nibbles = Math.min(prefix.length(), 16);
+		if (nibbles == 0) {
+			return new long[] { 0, -1L };
+		}
+		final long from = Long.parseUnsignedLong(prefix.substring(0, nibbles), 16) << (64 - nibbles * 4);
+		final long mask = (nibbles == 16) ? 0 : (-1L >>> (nibbles * 4));
+		return new long[] { from, from | mask };
+	}
+
+	@Override
+	public long[] compileSuffix(String suffix) {
+		if (!isHexPattern(suffix)) {
+			return new long[0];
+		}
+		// pair {mask, value} for the last 8 bytes of hash160
+		final int nibbles = Math.min(suffix.length(), 16);
+		if (nibbles == 0) {
+			return new long[] { 0, 0 };
+		}
+		final long value = Long.parseUnsignedLong(suffix.substring(suffix.length() - nibbles), 16);
+		final long mask = (nibbles == 16) ? -1L : ((1L << (nibbles * 4)) - 1);
+		return new long[] { mask, value };
+	}
+
+	@Override
+	public boolean mayEndWith(ECPointData ecp, long[] compiledSuffix) {
+		return (compiledSuffix.length != 0)
+				&& ((getLongBE(getHash160(ecp), 12) & compiledSuffix[0]) == compiledSuffix[1]);
+	}
+
+	private boolean isHexPattern(String pattern) {
+		if (pattern.length() > addressChars.length) {
+			return false;
+		}
+		// address is just hex formatted hash160 (the checksum changes only case of letters)
+		for (int i = 0; i < pattern.length(); i++) {
+			final char c = pattern.charAt(i);
+			if ((Character.digit(c, 16) < 0) || (!withCheckSum && (c >= 'A') && (c <= 'F'))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public String getCurrencyName() {
 		return currencyName;
@@ -89,7 +127,14 @@ public class ETHAddressGenerator
 		if (withCheckSum) {
 			return this;
 		}
-		// reuse the same hash160 generator to avoid hash recomputation
-		return new ETHAddressGenerator(currencyName, getAddressHash160Generator(), true);
+		// it's created once (it's used to recheck each candidate),
+		// reuse the same hash160 generator to avoid hash recomputation (it's replaced by a shared one in workers)
+		if (generatorWithCheckSum == null) {
+			generatorWithCheckSum = new ETHAddressGenerator(currencyName, getAddressHash160Generator(), true);
+		}
+		else {
+			generatorWithCheckSum.setAddressHash160Generator(getAddressHash160Generator());
+		}
+		return generatorWithCheckSum;
 	}
 }
\ No newline at end of file
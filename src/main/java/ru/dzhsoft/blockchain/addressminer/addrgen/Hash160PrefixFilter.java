@@ -0,0 +1,55 @@
+package ru.dzhsoft.blockchain.addressminer.addrgen;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Address generator which can tell by hash160 only (i.e. without address formatting)
+ * whether an address can start with the given prefix: addresses are formatted from hash160 monotonically,
+ * so all hash160 values of addresses having the same prefix are a few numeric ranges.
+ * <p>
+ * Ranges are checked for the first 8 bytes of hash160 (as unsigned big-endian long), so they are
+ * a superset of matching addresses: candidates have to be rechecked by the formatted address.
+ */
+public interface Hash160PrefixFilter extends AddressGenerator {
+	/**
+	 * Get ranges of the first 8 bytes of hash160 of addresses which can start with the prefix.
+	 *
+	 * @return pairs of unsigned inclusive bounds: [from_0, to_0, from_1, to_1, ...] (empty if no address can)
+	 */
+	long[] getHash160PrefixRanges(String prefix);
+
+	/**
+	 * Get the first 8 bytes of hash160 (as unsigned big-endian long) for the point.
+	 */
+	long getHash160Prefix(ECPointData ecp);
+
+	static boolean isInRanges(long value, long[] ranges) {
+		for (int i = 0; i < ranges.length; i += 2) {
+			if ((Long.compareUnsigned(value, ranges[i]) >= 0) && (Long.compareUnsigned(value, ranges[i + 1]) <= 0)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Join sorted (by the lower bound) ranges, which overlap or are adjacent.
+	 */
+	static long[] joinRanges(List<long[]> ranges) {
+		final long[] result = new long[ranges.size() * 2];
+		int count = 0;
+		for (long[] range : ranges) {
+			if ((count > 0) && (result[count - 1] == -1L
+					|| Long.compareUnsigned(result[count - 1] + 1, range[0]) >= 0)) {
+				if (Long.compareUnsigned(range[1], result[count - 1]) > 0) {
+					result[count - 1] = range[1];
+				}
+				continue;
+			}
+			result[count++] = range[0];
+			result[count++] = range[1];
+		}
+		return (count == result.length) ? result : Arrays.copyOf(result, count);
+	}
+}
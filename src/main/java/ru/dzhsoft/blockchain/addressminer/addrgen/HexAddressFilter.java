@@ -0,0 +1,13 @@
+package ru.dzhsoft.blockchain.addressminer.addrgen;
+
+/**
+ * Address generator which formats addresses as hex of hash160 (the checksum can change only case of letters),
+ * so hex patterns can be checked by nibbles of hash160 without address formatting
+ * (see {@link ru.dzhsoft.blockchain.addressminer.util.NibblePattern}).
+ */
+public interface HexAddressFilter extends AddressGenerator {
+	/**
+	 * Get hash160 for the point (the returned buffer is reused, it must not be modified).
+	 */
+	byte[] getHash160(ECPointData ecp);
+}
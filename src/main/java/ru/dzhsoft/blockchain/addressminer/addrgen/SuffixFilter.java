@@ -0,0 +1,23 @@
+package ru.dzhsoft.blockchain.addressminer.addrgen;
+
+/**
+ * Address generator which can tell without (full) address formatting whether an address can end with
+ * the given suffix: e.g. the last chars of Base58 address are just digits of the payload modulo 58^k,
+ * the last chars of hex address are the last nibbles of hash160.
+ * <p>
+ * Checks may be partial (e.g. only a few last chars are taken into account), so candidates have to be rechecked
+ * by the formatted address.
+ */
+public interface SuffixFilter extends AddressGenerator {
+	/**
+	 * Compile the suffix into data for {@link #mayEndWith(ECPointData, long[])}.
+	 *
+	 * @return compiled suffix (empty if no address can end with the suffix)
+	 */
+	long[] compileSuffix(String suffix);
+
+	/**
+	 * Check whether the address of the point can end with the compiled suffix.
+	 */
+	boolean mayEndWith(ECPointData ecp, long[] compiledSuffix);
+}
@@ -0,0 +1,194 @@
+package ru.dzhsoft.blockchain.addressminer.ec;
+
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.encoders.Hex;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static ru.dzhsoft.blockchain.addressminer.ec.Secp256k1Field.*;
+
+/**
+ * Precomputed multiples of a fixed base point B for B x k evaluation without doublings.
+ * <p>
+ * The 256-bit scalar is split into windows of W bits, window i has multiples j * 2^(W*i) * B (j < 2^W),
+ * so the product is a sum of ceil(256/W) table points: the table takes about 256/W * 2^W * 64 bytes
+ * (e.g. 64 KB for W=4, 512 KB for W=8).
+ * <p>
+ * Tables are immutable (so they are shared by all the workers), points are stored as affine X & Y limbs.
+ */
+public final class FixedBaseTable {
+	public static final int MIN_WINDOW = 1;
+	// lookups read whole windows (constant time), so larger windows are just slower
+	public static final int MAX_WINDOW = 8;
+	private static final int SCALAR_BITS = 256;
+	private static final int POINT_INTS = LIMBS * 2;
+	// points are normalized to affine coordinates by chunks sharing one field inversion
+	private static final int CHUNK_SIZE = 1024;
+
+	private static final Map<String, FixedBaseTable> SHARED_TABLES = new HashMap<>();
+
+	private final ECPoint base;
+	private final int window;
+	// windows: X & Y limbs of j-th multiple are at j * POINT_INTS (0-th one is unused)
+	private final int[][] points;
+
+	private FixedBaseTable(ECPoint base, int window, int[][] points) {
+		this.base = base;
+		this.window = window;
+		this.points = points;
+	}
+
+	/**
+	 * Get the table of the base point & window (it's built once, then the same instance is returned).
+	 */
+	public static FixedBaseTable getShared(ECPoint base, int window) {
+		final ECPoint normalized = base.normalize();
+		final String key = Hex.toHexString(normalized.getEncoded(false)) + "/" + window;
+		synchronized (SHARED_TABLES) {
+			return SHARED_TABLES.computeIfAbsent(key, k -> build(normalized, window));
+		}
+	}
+
+	public static FixedBaseTable build(ECPoint base, int window) {
+		checkWindow(window);
+		final ECPoint normalized = base.normalize();
+		final int windows = getWindowCount(window);
+
+		// bases of windows: 2^(W*i) * B (by doublings)
+		final int[][] basesX = new int[windows][LIMBS];
+		final int[][] basesY = new int[windows][LIMBS];
+		fromBytes(normalized.getAffineXCoord().getEncoded(), 0, basesX[0]);
+		fromBytes(normalized.getAffineYCoord().getEncoded(), 0, basesY[0]);
+		final JacobianPoint point = new JacobianPoint(new Secp256k1Field());
+		for (int i = 1; i < windows; i++) {
+			point.setAffine(basesX[i - 1], basesY[i - 1]);
+			for (int b = 0; b < window; b++) {
+				point.twice();
+			}
+			point.toAffine(basesX[i], basesY[i]);
+		}
+
+		// multiples of the bases (windows are independent, so they are evaluated in parallel)
+		final int[][] points = new int[windows][];
+		IntStream.range(0, windows).parallel().forEach(i -> points[i] =
+				buildWindow(basesX[i], basesY[i], getWindowPointCount(window, i)));
+		return new FixedBaseTable(normalized, window, points);
+	}
+
+	private static int[] buildWindow(int[] baseX, int[] baseY, int count) {
+		final Secp256k1Field field = new Secp256k1Field();
+		final JacobianPoint point = new JacobianPoint(field);
+		final int[] result = new int[count * POINT_INTS];
+		final int chunkSize = Math.min(CHUNK_SIZE, count);
+		final int[][] xs = new int[chunkSize][LIMBS];
+		final int[][] ys = new int[chunkSize][LIMBS];
+		final int[][] zs = new int[chunkSize][LIMBS];
+		final int[][] products = new int[chunkSize][LIMBS];
+		final int[] inv = create();
+		final int[] zInv = create();
+		final int[] zInv2 = create();
+
+		// j * B = (j - 1) * B + B (Jacobian), normalized by chunks (Montgomery's trick):
+		// products[i] = z[0] * z[1] * ... * z[i]
+		for (int from = 1; from < count; from += chunkSize) {
+			final int n = Math.min(chunkSize, count - from);
+			for (int i = 0; i < n; i++) {
+				point.addAffine(baseX, baseY);
+				copy(point.getX(), xs[i]);
+				copy(point.getY(), ys[i]);
+				copy(point.getZ(), zs[i]);
+				if (i == 0) {
+					copy(zs[0], products[0]);
+				}
+				else {
+					field.multiply(products[i - 1], zs[i], products[i]);
+				}
+			}
+			field.invert(products[n - 1], inv);
+			for (int i = n - 1; i >= 0; i--) {
+				// 1/z[i] = 1/(z[0]*...*z[i]) * (z[0]*...*z[i-1])
+				if (i > 0) {
+					field.multiply(inv, products[i - 1], zInv);
+					field.multiply(inv, zs[i], inv);
+				}
+				else {
+					copy(inv, zInv);
+				}
+				field.square(zInv, zInv2);
+				field.multiply(xs[i], zInv2, xs[i]);
+				field.multiply(zInv2, zInv, zInv2);
+				field.multiply(ys[i], zInv2, ys[i]);
+				final int offset = (from + i) * POINT_INTS;
+				System.arraycopy(xs[i], 0, result, offset, LIMBS);
+				System.arraycopy(ys[i], 0, result, offset + LIMBS, LIMBS);
+			}
+		}
+		return result;
+	}
+
+	public ECPoint getBase() {
+		return base;
+	}
+
+	public int getWindow() {
+		return window;
+	}
+
+	public long getSizeBytes() {
+		long ints = 0;
+		for (int[] windowPoints : points) {
+			ints += windowPoints.length;
+		}
+		return ints * Integer.BYTES;
+	}
+
+	/**
+	 * Evaluate k * B (the result is left in the Jacobian point), returns false if it's point at infinity.
+	 * <p>
+	 * The scalar is secret (it's a private key), so table points are looked up in constant time (all the points
+	 * of a window are read) and there are no branches on its digits (see
+	 * {@link JacobianPoint#addAffineConstantTime}): cost of the lookup grows as 2^W, so small windows are the best.
+	 *
+	 * @param scalar 32 bytes of k (big-endian), k must be less than the group order
+	 */
+	public boolean multiply(byte[] scalar, JacobianPoint result) {
+		result.setInfinity();
+		for (int i = 0; i < points.length; i++) {
+			final int bits = getWindowBits(window, i);
+			result.addAffineConstantTime(points[i], 1 << bits, getDigit(scalar, i * window, bits));
+		}
+		return !result.isInfinity();
+	}
+
+	private static void checkWindow(int window) {
+		if ((window < MIN_WINDOW) || (window > MAX_WINDOW)) {
+			throw new IllegalArgumentException(String.format(
+					"window=%d is out of bounds of [%d..%d]", window, MIN_WINDOW, MAX_WINDOW));
+		}
+	}
+
+	private static int getWindowCount(int window) {
+		return (SCALAR_BITS + window - 1) / window;
+	}
+
+	// count of points of the window (including unused 0-th one), the last window can be shorter
+	private static int getWindowPointCount(int window, int i) {
+		return 1 << getWindowBits(window, i);
+	}
+
+	private static int getWindowBits(int window, int i) {
+		return Math.min(window, SCALAR_BITS - i * window);
+	}
+
+	// bits [from, from + count) of big-endian scalar (bit 0 is the least significant one), count <= MAX_WINDOW
+	private static int getDigit(byte[] scalar, int from, int count) {
+		final int lastByte = scalar.length - 1 - (from >>> 3);
+		int bits = scalar[lastByte] & 0xFF;
+		if (lastByte > 0) {
+			bits |= (scalar[lastByte - 1] & 0xFF) << 8;
+		}
+		return (bits >>> (from & 0x07)) & ((1 << count) - 1);
+	}
+}
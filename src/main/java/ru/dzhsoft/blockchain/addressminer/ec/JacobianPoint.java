@@ -0,0 +1,239 @@
+package ru.dzhsoft.blockchain.addressminer.ec;
+
+import java.util.Arrays;
+
+import static ru.dzhsoft.blockchain.addressminer.ec.Secp256k1Field.*;
+
+/**
+ * Mutable secp256k1 point in Jacobian coordinates (X / Z^2, Y / Z^3) accumulating additions of affine points.
+ * <p>
+ * Like {@link Secp256k1Field}, instances hold scratch buffers, so they are thread unsafe,
+ * but never allocate anything after construction.
+ */
+public final class JacobianPoint {
+	private final Secp256k1Field field;
+	private final int[] x = create();
+	private final int[] y = create();
+	private final int[] z = create();
+	private boolean infinity = true;
+
+	// scratch buffers
+	private final int[] ax = create();
+	private final int[] ay = create();
+	private final int[] t1 = create();
+	private final int[] t2 = create();
+	private final int[] t3 = create();
+	private final int[] t4 = create();
+	private final int[] t5 = create();
+	private final int[] x3 = create();
+	private final int[] y3 = create();
+	private final int[] z3 = create();
+	private final int[] one = create();
+
+	public JacobianPoint(Secp256k1Field field) {
+		this.field = field;
+		setOne(one);
+	}
+
+	public boolean isInfinity() {
+		return infinity;
+	}
+
+	public void setInfinity() {
+		infinity = true;
+		Arrays.fill(z, 0);
+	}
+
+	public void setAffine(int[] ax, int[] ay) {
+		copy(ax, x);
+		copy(ay, y);
+		setOne(z);
+		infinity = false;
+	}
+
+	/**
+	 * Add the index-th of the affine points stored one by one as X & Y limbs in the array (nothing is added
+	 * for index 0) in constant time, i.e. with no branches or memory accesses depending on the index or points:
+	 * all the points are read & the index-th one is selected by masks, the result is selected by masks too.
+	 * <p>
+	 * The added point must be neither this point nor its negation (it holds for sums of multiples of different
+	 * windows of a scalar less than the group order, see {@link FixedBaseTable}), the field arithmetic
+	 * has carry-dependent final reductions, as it does everywhere.
+	 *
+	 * @param count count of points in the array
+	 */
+	public void addAffineConstantTime(int[] xy, int count, int index) {
+		// the index-th point (0-th one gives zeros)
+		Arrays.fill(ax, 0);
+		Arrays.fill(ay, 0);
+		for (int j = 0, offset = 0; j < count; j++, offset += LIMBS * 2) {
+			final int mask = ~nonZeroMask(j ^ index);
+			for (int i = 0; i < LIMBS; i++) {
+				ax[i] |= xy[offset + i] & mask;
+				ay[i] |= xy[offset + LIMBS + i] & mask;
+			}
+		}
+
+		// the sum by the general formula (see addAffine), it's garbage if this point is infinity (Z = 0)
+		final Secp256k1Field f = field;
+		final int[] zz = t1, h = t2, r = t3, hh = t4, v = t5;
+		f.square(z, zz);
+		f.multiply(ax, zz, h);
+		subtract(h, x, h);
+		f.multiply(zz, z, r);
+		f.multiply(r, ay, r);
+		subtract(r, y, r);
+		f.square(h, hh);
+		f.multiply(z, h, z3);
+		f.multiply(x, hh, v);
+		f.multiply(hh, h, hh);
+		f.square(r, x3);
+		subtract(x3, hh, x3);
+		subtract(x3, v, x3);
+		subtract(x3, v, x3);
+		f.multiply(y, hh, y3);
+		subtract(v, x3, v);
+		f.multiply(r, v, v);
+		subtract(v, y3, y3);
+
+		// the added point if this one is infinity, then the result if the index isn't 0
+		final int infinityMask = ~nonZeroMask(orLimbs(z));
+		select(x3, ax, infinityMask);
+		select(y3, ay, infinityMask);
+		select(z3, one, infinityMask);
+		final int addMask = nonZeroMask(index);
+		select(x, x3, addMask);
+		select(y, y3, addMask);
+		select(z, z3, addMask);
+		infinity = isZero(z);
+	}
+
+	public void addAffine(int[] ax, int[] ay) {
+		if (infinity) {
+			setAffine(ax, ay);
+			return;
+		}
+		final Secp256k1Field f = field;
+		final int[] zz = t1, h = t2, r = t3, hh = t4, v = t5;
+
+		// U2 = ax * Z^2, S2 = ay * Z^3, H = U2 - X, R = S2 - Y
+		f.square(z, zz);
+		f.multiply(ax, zz, h);
+		subtract(h, x, h);
+		f.multiply(zz, z, r);
+		f.multiply(r, ay, r);
+		subtract(r, y, r);
+		if (isZero(h)) {
+			// the same X: it's the same point (doubling) or its negation (point at infinity)
+			if (isZero(r)) {
+				twice();
+			}
+			else {
+				infinity = true;
+			}
+			return;
+		}
+
+		// X3 = R^2 - H^3 - 2 * X * H^2, Y3 = R * (X * H^2 - X3) - Y * H^3, Z3 = Z * H
+		f.square(h, hh);
+		f.multiply(z, h, z);
+		f.multiply(x, hh, v);
+		f.multiply(hh, h, hh); // H^3
+		f.square(r, x);
+		subtract(x, hh, x);
+		subtract(x, v, x);
+		subtract(x, v, x);
+		f.multiply(y, hh, y);
+		subtract(v, x, v);
+		f.multiply(r, v, v);
+		subtract(v, y, y);
+	}
+
+	public void twice() {
+		if (infinity) {
+			return;
+		}
+		final Secp256k1Field f = field;
+		final int[] a = t1, b = t2, c = t3, d = t4, e = t5;
+
+		// (a = 0) A = X^2, B = Y^2, C = B^2, D = 2 * ((X + B)^2 - A - C), E = 3 * A,
+		// X3 = E^2 - 2 * D, Y3 = E * (D - X3) - 8 * C, Z3 = 2 * Y * Z
+		f.square(x, a);
+		f.square(y, b);
+		f.square(b, c);
+		add(x, b, d);
+		f.square(d, d);
+		subtract(d, a, d);
+		subtract(d, c, d);
+		add(d, d, d);
+		add(a, a, e);
+		add(e, a, e);
+		f.multiply(y, z, z);
+		add(z, z, z);
+		f.square(e, x);
+		subtract(x, d, x);
+		subtract(x, d, x);
+		subtract(d, x, d);
+		f.multiply(e, d, y);
+		add(c, c, c);
+		add(c, c, c);
+		add(c, c, c);
+		subtract(y, c, y);
+	}
+
+	/**
+	 * Get affine coordinates (it's one field inversion), returns false for point at infinity.
+	 */
+	public boolean toAffine(int[] affineX, int[] affineY) {
+		if (infinity) {
+			return false;
+		}
+		final int[] zInv = t1, zInv2 = t2;
+		field.invert(z, zInv);
+		field.square(zInv, zInv2);
+		field.multiply(x, zInv2, affineX);
+		field.multiply(zInv2, zInv, zInv2);
+		field.multiply(y, zInv2, affineY);
+		return true;
+	}
+
+	// Jacobian coordinates (must not be modified)
+	int[] getX() {
+		return x;
+	}
+
+	int[] getY() {
+		return y;
+	}
+
+	int[] getZ() {
+		return z;
+	}
+
+	// -1 if the value isn't 0, 0 otherwise
+	private static int nonZeroMask(int value) {
+		return (value | -value) >> 31;
+	}
+
+	private static int orLimbs(int[] x) {
+		int bits = 0;
+		for (int i = 0; i < LIMBS; i++) {
+			bits |= x[i];
+		}
+		return bits;
+	}
+
+	// z = mask ? x : z (mask is 0 or -1)
+	private static void select(int[] z, int[] x, int mask) {
+		for (int i = 0; i < LIMBS; i++) {
+			z[i] ^= (z[i] ^ x[i]) & mask;
+		}
+	}
+
+	private static void setOne(int[] z) {
+		z[0] = 1;
+		for (int i = 1; i < LIMBS; i++) {
+			z[i] = 0;
+		}
+	}
+}
@@ -0,0 +1,270 @@
+package ru.dzhsoft.blockchain.addressminer.ec;
+
+import java.math.BigInteger;
+
+import static ru.dzhsoft.blockchain.addressminer.util.Helper.toBytes32;
+
+/**
+ * Arithmetic of secp256k1 base field (modulo p = 2^256 - 2^32 - 977) over reusable int[8] limbs.
+ * <p>
+ * Elements are stored as 8 unsigned 32-bit limbs (least significant limb first) and are always
+ * kept fully reduced (i.e. in range [0..p-1]). The result array can be the same as any of arguments.
+ * <p>
+ * Instances hold scratch buffers for multiplication and inversion, so they are thread unsafe
+ * (use one instance per thread), but never allocate anything after construction.
+ */
+public final class Secp256k1Field {
+	public static final int LIMBS = 8;
+	public static final BigInteger MODULUS =
+			new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16);
+
+	/** p = 2^256 - PC, where PC = 2^32 + 977 */
+	private static final long PC = 0x1000003D1L;
+	private static final long M = 0xFFFFFFFFL;
+	private static final int[] P = {
+			0xFFFFFC2F, 0xFFFFFFFE, 0xFFFFFFFF, 0xFFFFFFFF, 0xFFFFFFFF, 0xFFFFFFFF, 0xFFFFFFFF, 0xFFFFFFFF
+	};
+
+	private final int[] tt = new int[LIMBS * 2];
+	private final int[] x2 = new int[LIMBS];
+	private final int[] x3 = new int[LIMBS];
+	private final int[] x22 = new int[LIMBS];
+	private final int[] x44 = new int[LIMBS];
+	private final int[] x88 = new int[LIMBS];
+	private final int[] t = new int[LIMBS];
+
+	public static int[] create() {
+		return new int[LIMBS];
+	}
+
+	public static int[] fromBigInteger(BigInteger value) {
+		final int[] z = create();
+		fromBytes(toBytes32(value.mod(MODULUS)), 0, z);
+		return z;
+	}
+
+	public static BigInteger toBigInteger(int[] x) {
+		final byte[] bytes = new byte[32];
+		toBytes(x, bytes, 0);
+		return new BigInteger(1, bytes);
+	}
+
+	@SuppressWarnings("PointlessArithmeticExpression")
+	public static void fromBytes(byte[] src, int offset, int[] z) {
+		for (int i = 0; i < LIMBS; i++) {
+			final int j = offset + ((LIMBS - i - 1) << 2);
+			z[i] = ((src[j + 0] & 0xFF) << 24) | ((src[j + 1] & 0xFF) << 16)
+					| ((src[j + 2] & 0xFF) << 8) | (src[j + 3] & 0xFF);
+		}
+	}
+
+	@SuppressWarnings("PointlessArithmeticExpression")
+	public static void toBytes(int[] x, byte[] dst, int offset) {
+		for (int i = 0; i < LIMBS; i++) {
+			final int j = offset + ((LIMBS - i - 1) << 2);
+			final int v = x[i];
+			dst[j + 0] = (byte) (v >>> 24);
+			dst[j + 1] = (byte) (v >>> 16);
+			dst[j + 2] = (byte) (v >>> 8);
+			dst[j + 3] = (byte) v;
+		}
+	}
+
+	public static void copy(int[] x, int[] z) {
+		System.arraycopy(x, 0, z, 0, LIMBS);
+	}
+
+	public static boolean isZero(int[] x) {
+		int bits = 0;
+		for (int i = 0; i < LIMBS; i++) {
+			bits |= x[i];
+		}
+		return bits == 0;
+	}
+
+	public static boolean isEqual(int[] x, int[] y) {
+		int diff = 0;
+		for (int i = 0; i < LIMBS; i++) {
+			diff |= x[i] ^ y[i];
+		}
+		return diff == 0;
+	}
+
+	public static void add(int[] x, int[] y, int[] z) {
+		long c = 0;
+		for (int i = 0; i < LIMBS; i++) {
+			c += (x[i] & M) + (y[i] & M);
+			z[i] = (int) c;
+			c >>>= 32;
+		}
+		if ((c != 0) || isGreaterOrEqualP(z)) {
+			addPC(z);
+		}
+	}
+
+	public static void subtract(int[] x, int[] y, int[] z) {
+		long c = 0;
+		for (int i = 0; i < LIMBS; i++) {
+			c += (x[i] & M) - (y[i] & M);
+			z[i] = (int) c;
+			c >>= 32;
+		}
+		if (c != 0) {
+			// x - y + p = x - y - PC (mod 2^256)
+			subtractPC(z);
+		}
+	}
+
+	public static void negate(int[] x, int[] z) {
+		if (isZero(x)) {
+			copy(x, z);
+			return;
+		}
+		long c = 0;
+		for (int i = 0; i < LIMBS; i++) {
+			c += (P[i] & M) - (x[i] & M);
+			z[i] = (int) c;
+			c >>= 32;
+		}
+	}
+
+	public void multiply(int[] x, int[] y, int[] z) {
+		final int[] tt = this.tt;
+		for (int i = 0; i < LIMBS; i++) {
+			tt[i] = 0;
+		}
+		for (int i = 0; i < LIMBS; i++) {
+			final long xi = x[i] & M;
+			long c = 0;
+			for (int j = 0; j < LIMBS; j++) {
+				c += xi * (y[j] & M) + (tt[i + j] & M);
+				tt[i + j] = (int) c;
+				c >>>= 32;
+			}
+			tt[i + LIMBS] = (int) c;
+		}
+		reduce(tt, z);
+	}
+
+	public void square(int[] x, int[] z) {
+		multiply(x, x, z);
+	}
+
+	public void squareN(int[] x, int n, int[] z) {
+		square(x, z);
+		while (--n > 0) {
+			square(z, z);
+		}
+	}
+
+	/**
+	 * Evaluates z = x^(p-2) = 1/x (mod p), the result is zero for zero argument.
+	 * Uses the same addition chain as libsecp256k1 does (255 squarings and 15 multiplications).
+	 */
+	public void invert(int[] x, int[] z) {
+		final int[] x2 = this.x2, x3 = this.x3, x22 = this.x22, x44 = this.x44, x88 = this.x88, t = this.t;
+
+		square(x, x2);
+		multiply(x2, x, x2);
+		square(x2, x3);
+		multiply(x3, x, x3);
+		squareN(x3, 3, t);
+		multiply(t, x3, t); // x6
+		squareN(t, 3, t);
+		multiply(t, x3, t); // x9
+		squareN(t, 2, t);
+		multiply(t, x2, t); // x11
+		squareN(t, 11, x22);
+		multiply(x22, t, x22);
+		squareN(x22, 22, x44);
+		multiply(x44, x22, x44);
+		squareN(x44, 44, t);
+		multiply(t, x44, x88);
+		copy(x88, t);
+		squareN(t, 88, t);
+		multiply(t, x88, t); // x176
+		squareN(t, 44, t);
+		multiply(t, x44, t); // x220
+		squareN(t, 3, t);
+		multiply(t, x3, t); // x223
+
+		// the tail: 23 + 5 + 3 + 2 bits
+		squareN(t, 23, t);
+		multiply(t, x22, t);
+		squareN(t, 5, t);
+		multiply(t, x, t);
+		squareN(t, 3, t);
+		multiply(t, x2, t);
+		squareN(t, 2, t);
+		multiply(t, x, z);
+	}
+
+	private static void reduce(int[] tt, int[] z) {
+		// tt = H * 2^256 + L = L + H * PC = L + H * 977 + (H << 32) (mod p)
+		long c = 0;
+		for (int i = 0; i < LIMBS; i++) {
+			c += (tt[i] & M) + (tt[i + LIMBS] & M) * 977L;
+			if (i > 0) {
+				c += tt[i + LIMBS - 1] & M;
+			}
+			z[i] = (int) c;
+			c >>>= 32;
+		}
+		final long hi = c + (tt[LIMBS * 2 - 1] & M); // bits above 2^256 (less than 2^44)
+
+		// fold once again: z + hi * PC
+		c = (z[0] & M) + hi * 977L;
+		z[0] = (int) c;
+		c >>>= 32;
+		c += (z[1] & M) + hi;
+		z[1] = (int) c;
+		c >>>= 32;
+		for (int i = 2; (i < LIMBS) && (c != 0); i++) {
+			c += z[i] & M;
+			z[i] = (int) c;
+			c >>>= 32;
+		}
+		if ((c != 0) || isGreaterOrEqualP(z)) {
+			addPC(z);
+		}
+	}
+
+	private static boolean isGreaterOrEqualP(int[] z) {
+		for (int i = LIMBS - 1; i >= 0; i--) {
+			final int a = z[i] ^ Integer.MIN_VALUE, b = P[i] ^ Integer.MIN_VALUE;
+			if (a != b) {
+				return a > b;
+			}
+		}
+		return true;
+	}
+
+	private static void addPC(int[] z) {
+		// z - p = z + PC (mod 2^256)
+		long c = (z[0] & M) + (PC & M);
+		z[0] = (int) c;
+		c >>>= 32;
+		c += (z[1] & M) + (PC >>> 32);
+		z[1] = (int) c;
+		c >>>= 32;
+		for (int i = 2; (i < LIMBS) && (c != 0); i++) {
+			c += z[i] & M;
+			z[i] = (int) c;
+			c >>>= 32;
+		}
+	}
+
+	private static void subtractPC(int[] z) {
+		long c = (z[0] & M) - (PC & M);
+		z[0] = (int) c;
+		c >>= 32;
+		c += (z[1] & M) - (PC >>> 32);
+		z[1] = (int) c;
+		c >>= 32;
+		for (int i = 2; (i < LIMBS) && (c != 0); i++) {
+			c += z[i] & M;
+			z[i] = (int) c;
+			c >>= 32;
+		}
+	}
+}
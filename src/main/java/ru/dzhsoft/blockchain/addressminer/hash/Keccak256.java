@@ -0,0 +1,228 @@
+package ru.dzhsoft.blockchain.addressminer.hash;
+
+/**
+ * Keccak-256 (the original padding, as it's used by Ethereum) specialized for short fixed-size inputs
+ * used by address generators: each of them fits into one 136-byte block (rate), so only one absorption
+ * (i.e. one Keccak-f[1600] permutation) is done and the padding is precomputed.
+ * <p>
+ * The digest is kept in the state (see {@link #getByte(int)}), so only the bytes actually needed are extracted.
+ * Instances are thread unsafe (reusable state), but never allocate anything.
+ */
+public final class Keccak256 {
+	private static final long[] RC = {
+			0x0000000000000001L, 0x0000000000008082L, 0x800000000000808aL, 0x8000000080008000L,
+			0x000000000000808bL, 0x0000000080000001L, 0x8000000080008081L, 0x8000000000008009L,
+			0x000000000000008aL, 0x0000000000000088L, 0x0000000080008009L, 0x000000008000000aL,
+			0x000000008000808bL, 0x800000000000008bL, 0x8000000000008089L, 0x8000000000008003L,
+			0x8000000000008002L, 0x8000000000000080L, 0x000000000000800aL, 0x800000008000000aL,
+			0x8000000080008081L, 0x8000000000008080L, 0x0000000080000001L, 0x8000000080008008L
+	};
+
+	/** the last lane of the rate (136 bytes = 17 lanes), it holds the final padding bit */
+	private static final int LAST_RATE_LANE = 16;
+	private static final long M = 0xFFFFFFFFL;
+
+	private final long[] state = new long[25];
+
+	/**
+	 * Keccak-256 of 64 bytes X||Y of a public key given as field limbs
+	 * (8 unsigned 32-bit limbs, least significant limb first, see {@code Secp256k1Field}).
+	 */
+	public void hashLimbs64(int[] x, int[] y) {
+		final long[] s = this.state;
+		for (int i = 0; i < 4; i++) {
+			// big-endian bytes of the number are little-endian bytes of the lane
+			s[i] = Long.reverseBytes(((long) x[7 - (i << 1)] << 32) | (x[6 - (i << 1)] & M));
+			s[i + 4] = Long.reverseBytes(((long) y[7 - (i << 1)] << 32) | (y[6 - (i << 1)] & M));
+		}
+		s[8] = 0x01L;
+		for (int i = 9; i < 25; i++) {
+			s[i] = 0;
+		}
+		s[LAST_RATE_LANE] = 0x8000000000000000L;
+		permute(s);
+	}
+
+	/**
+	 * Keccak-256 of 40 ASCII chars (e.g. hex formatted address for the checksum).
+	 */
+	public void hashAscii40(char[] src, int offset) {
+		final long[] s = this.state;
+		for (int i = 0; i < 5; i++) {
+			long lane = 0;
+			for (int j = 7; j >= 0; j--) {
+				lane = (lane << 8) | (src[offset + (i << 3) + j] & 0xFF);
+			}
+			s[i] = lane;
+		}
+		s[5] = 0x01L;
+		for (int i = 6; i < 25; i++) {
+			s[i] = 0;
+		}
+		s[LAST_RATE_LANE] = 0x8000000000000000L;
+		permute(s);
+	}
+
+	/**
+	 * Get byte of the digest (the last computed one).
+	 */
+	public int getByte(int idx) {
+		return (int) (state[idx >>> 3] >>> ((idx & 0x07) << 3)) & 0xFF;
+	}
+
+	/**
+	 * Copy bytes [from..from+len) of the digest (the last computed one).
+	 */
+	public void getBytes(int from, byte[] dst, int offset, int len) {
+		for (int i = 0; i < len; i++) {
+			dst[offset + i] = (byte) getByte(from + i);
+		}
+	}
+
+	@SuppressWarnings("DuplicatedCode")
+	private static void permute(long[] s) {
+		long a00 = s[0], a01 = s[1], a02 = s[2], a03 = s[3], a04 = s[4];
+		long a05 = s[5], a06 = s[6], a07 = s[7], a08 = s[8], a09 = s[9];
+		long a10 = s[10], a11 = s[11], a12 = s[12], a13 = s[13], a14 = s[14];
+		long a15 = s[15], a16 = s[16], a17 = s[17], a18 = s[18], a19 = s[19];
+		long a20 = s[20], a21 = s[21], a22 = s[22], a23 = s[23], a24 = s[24];
+
+		for (int round = 0; round < 24; round++) {
+			// theta
+			long c0 = a00 ^ a05 ^ a10 ^ a15 ^ a20;
+			long c1 = a01 ^ a06 ^ a11 ^ a16 ^ a21;
+			final long c2 = a02 ^ a07 ^ a12 ^ a17 ^ a22;
+			final long c3 = a03 ^ a08 ^ a13 ^ a18 ^ a23;
+			final long c4 = a04 ^ a09 ^ a14 ^ a19 ^ a24;
+
+			final long d1 = (c1 << 1 | c1 >>> -1) ^ c4;
+			final long d2 = (c2 << 1 | c2 >>> -1) ^ c0;
+			final long d3 = (c3 << 1 | c3 >>> -1) ^ c1;
+			final long d4 = (c4 << 1 | c4 >>> -1) ^ c2;
+			final long d0 = (c0 << 1 | c0 >>> -1) ^ c3;
+
+			a00 ^= d1;
+			a05 ^= d1;
+			a10 ^= d1;
+			a15 ^= d1;
+			a20 ^= d1;
+			a01 ^= d2;
+			a06 ^= d2;
+			a11 ^= d2;
+			a16 ^= d2;
+			a21 ^= d2;
+			a02 ^= d3;
+			a07 ^= d3;
+			a12 ^= d3;
+			a17 ^= d3;
+			a22 ^= d3;
+			a03 ^= d4;
+			a08 ^= d4;
+			a13 ^= d4;
+			a18 ^= d4;
+			a23 ^= d4;
+			a04 ^= d0;
+			a09 ^= d0;
+			a14 ^= d0;
+			a19 ^= d0;
+			a24 ^= d0;
+
+			// rho & pi
+			c1 = a01 << 1 | a01 >>> 63;
+			a01 = a06 << 44 | a06 >>> 20;
+			a06 = a09 << 20 | a09 >>> 44;
+			a09 = a22 << 61 | a22 >>> 3;
+			a22 = a14 << 39 | a14 >>> 25;
+			a14 = a20 << 18 | a20 >>> 46;
+			a20 = a02 << 62 | a02 >>> 2;
+			a02 = a12 << 43 | a12 >>> 21;
+			a12 = a13 << 25 | a13 >>> 39;
+			a13 = a19 << 8 | a19 >>> 56;
+			a19 = a23 << 56 | a23 >>> 8;
+			a23 = a15 << 41 | a15 >>> 23;
+			a15 = a04 << 27 | a04 >>> 37;
+			a04 = a24 << 14 | a24 >>> 50;
+			a24 = a21 << 2 | a21 >>> 62;
+			a21 = a08 << 55 | a08 >>> 9;
+			a08 = a16 << 45 | a16 >>> 19;
+			a16 = a05 << 36 | a05 >>> 28;
+			a05 = a03 << 28 | a03 >>> 36;
+			a03 = a18 << 21 | a18 >>> 43;
+			a18 = a17 << 15 | a17 >>> 49;
+			a17 = a11 << 10 | a11 >>> 54;
+			a11 = a07 << 6 | a07 >>> 58;
+			a07 = a10 << 3 | a10 >>> 61;
+			a10 = c1;
+
+			// chi
+			c0 = a00 ^ (~a01 & a02);
+			c1 = a01 ^ (~a02 & a03);
+			a02 ^= ~a03 & a04;
+			a03 ^= ~a04 & a00;
+			a04 ^= ~a00 & a01;
+			a00 = c0;
+			a01 = c1;
+
+			c0 = a05 ^ (~a06 & a07);
+			c1 = a06 ^ (~a07 & a08);
+			a07 ^= ~a08 & a09;
+			a08 ^= ~a09 & a05;
+			a09 ^= ~a05 & a06;
+			a05 = c0;
+			a06 = c1;
+
+			c0 = a10 ^ (~a11 & a12);
+			c1 = a11 ^ (~a12 & a13);
+			a12 ^= ~a13 & a14;
+			a13 ^= ~a14 & a10;
+			a14 ^= ~a10 & a11;
+			a10 = c0;
+			a11 = c1;
+
+			c0 = a15 ^ (~a16 & a17);
+			c1 = a16 ^ (~a17 & a18);
+			a17 ^= ~a18 & a19;
+			a18 ^= ~a19 & a15;
+			a19 ^= ~a15 & a16;
+			a15 = c0;
+			a16 = c1;
+
+			c0 = a20 ^ (~a21 & a22);
+			c1 = a21 ^ (~a22 & a23);
+			a22 ^= ~a23 & a24;
+			a23 ^= ~a24 & a20;
+			a24 ^= ~a20 & a21;
+			a20 = c0;
+			a21 = c1;
+
+			// iota
+			a00 ^= RC[round];
+		}
+
+		s[0] = a00;
+		s[1] = a01;
+		s[2] = a02;
+		s[3] = a03;
+		s[4] = a04;
+		s[5] = a05;
+		s[6] = a06;
+		s[7] = a07;
+		s[8] = a08;
+		s[9] = a09;
+		s[10] = a10;
+		s[11] = a11;
+		s[12] = a12;
+		s[13] = a13;
+		s[14] = a14;
+		s[15] = a15;
+		s[16] = a16;
+		s[17] = a17;
+		s[18] = a18;
+		s[19] = a19;
+		s[20] = a20;
+		s[21] = a21;
+		s[22] = a22;
+		s[23] = a23;
+		s[24] = a24;
+	}
+}
@@ -0,0 +1,163 @@
+package ru.dzhsoft.blockchain.addressminer.hash;
+
+/**
+ * RIPEMD-160 specialized for 32-byte input (i.e. the second part of hash160 = RIPEMD-160(SHA-256(data))):
+ * the input is taken as 8 big-endian words as they are produced by {@link Sha256},
+ * the padding is precomputed and only one compression is done.
+ * <p>
+ * Instances are thread unsafe (reusable message block), but never allocate anything.
+ */
+public final class Ripemd160 {
+	private static final int[] R_LEFT = {
+			0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15,
+			7, 4, 13, 1, 10, 6, 15, 3, 12, 0, 9, 5, 2, 14, 11, 8,
+			3, 10, 14, 4, 9, 15, 8, 1, 2, 7, 0, 6, 13, 11, 5, 12,
+			1, 9, 11, 10, 0, 8, 12, 4, 13, 3, 7, 15, 14, 5, 6, 2,
+			4, 0, 5, 9, 7, 12, 2, 10, 14, 1, 3, 8, 11, 6, 15, 13
+	};
+	private static final int[] R_RIGHT = {
+			5, 14, 7, 0, 9, 2, 11, 4, 13, 6, 15, 8, 1, 10, 3, 12,
+			6, 11, 3, 7, 0, 13, 5, 10, 14, 15, 8, 12, 4, 9, 1, 2,
+			15, 5, 1, 3, 7, 14, 6, 9, 11, 8, 12, 2, 10, 0, 4, 13,
+			8, 6, 4, 1, 3, 11, 15, 0, 5, 12, 2, 13, 9, 7, 10, 14,
+			12, 15, 10, 4, 1, 5, 8, 7, 6, 2, 13, 14, 0, 3, 9, 11
+	};
+	private static final int[] S_LEFT = {
+			11, 14, 15, 12, 5, 8, 7, 9, 11, 13, 14, 15, 6, 7, 9, 8,
+			7, 6, 8, 13, 11, 9, 7, 15, 7, 12, 15, 9, 11, 7, 13, 12,
+			11, 13, 6, 7, 14, 9, 13, 15, 14, 8, 13, 6, 5, 12, 7, 5,
+			11, 12, 14, 15, 14, 15, 9, 8, 9, 14, 5, 6, 8, 6, 5, 12,
+			9, 15, 5, 11, 6, 8, 13, 12, 5, 12, 13, 14, 11, 8, 5, 6
+	};
+	private static final int[] S_RIGHT = {
+			8, 9, 9, 11, 13, 15, 15, 5, 7, 7, 8, 11, 14, 14, 12, 6,
+			9, 13, 15, 7, 12, 8, 9, 11, 7, 7, 12, 7, 6, 15, 13, 11,
+			9, 7, 15, 11, 8, 6, 6, 14, 12, 13, 5, 14, 13, 13, 7, 5,
+			15, 5, 8, 11, 14, 14, 6, 14, 6, 9, 12, 9, 12, 5, 15, 8,
+			8, 5, 12, 9, 12, 5, 14, 6, 8, 13, 6, 5, 15, 13, 11, 11
+	};
+
+	private static final int H0 = 0x67452301;
+	private static final int H1 = 0xEFCDAB89;
+	private static final int H2 = 0x98BADCFE;
+	private static final int H3 = 0x10325476;
+	private static final int H4 = 0xC3D2E1F0;
+
+	private final int[] x = new int[16];
+
+	/**
+	 * RIPEMD-160 of 32 bytes given as 8 big-endian words, the result (20 bytes) is written into dst at offset.
+	 */
+	public void hash32(int[] src, byte[] dst, int offset) {
+		final int[] x = this.x;
+
+		// RIPEMD-160 reads little-endian words
+		for (int i = 0; i < 8; i++) {
+			x[i] = Integer.reverseBytes(src[i]);
+		}
+		x[8] = 0x00000080;
+		for (int i = 9; i < 16; i++) {
+			x[i] = 0;
+		}
+		x[14] = 32 * 8;
+
+		int al = H0, bl = H1, cl = H2, dl = H3, el = H4;
+		int ar = H0, br = H1, cr = H2, dr = H3, er = H4;
+		int t;
+
+		// round 1: f1 (left), f5 (right)
+		for (int j = 0; j < 16; j++) {
+			t = Integer.rotateLeft(al + (bl ^ cl ^ dl) + x[R_LEFT[j]], S_LEFT[j]) + el;
+			al = el;
+			el = dl;
+			dl = Integer.rotateLeft(cl, 10);
+			cl = bl;
+			bl = t;
+			t = Integer.rotateLeft(ar + (br ^ (cr | ~dr)) + x[R_RIGHT[j]] + 0x50A28BE6, S_RIGHT[j]) + er;
+			ar = er;
+			er = dr;
+			dr = Integer.rotateLeft(cr, 10);
+			cr = br;
+			br = t;
+		}
+
+		// round 2: f2 (left), f4 (right)
+		for (int j = 16; j < 32; j++) {
+			t = Integer.rotateLeft(al + ((bl & cl) | (~bl & dl)) + x[R_LEFT[j]] + 0x5A827999, S_LEFT[j]) + el;
+			al = el;
+			el = dl;
+			dl = Integer.rotateLeft(cl, 10);
+			cl = bl;
+			bl = t;
+			t = Integer.rotateLeft(ar + ((br & dr) | (cr & ~dr)) + x[R_RIGHT[j]] + 0x5C4DD124, S_RIGHT[j]) + er;
+			ar = er;
+			er = dr;
+			dr = Integer.rotateLeft(cr, 10);
+			cr = br;
+			br = t;
+		}
+
+		// round 3: f3 (both)
+		for (int j = 32; j < 48; j++) {
+			t = Integer.rotateLeft(al + ((bl | ~cl) ^ dl) + x[R_LEFT[j]] + 0x6ED9EBA1, S_LEFT[j]) + el;
+			al = el;
+			el = dl;
+			dl = Integer.rotateLeft(cl, 10);
+			cl = bl;
+			bl = t;
+			t = Integer.rotateLeft(ar + ((br | ~cr) ^ dr) + x[R_RIGHT[j]] + 0x6D703EF3, S_RIGHT[j]) + er;
+			ar = er;
+			er = dr;
+			dr = Integer.rotateLeft(cr, 10);
+			cr = br;
+			br = t;
+		}
+
+		// round 4: f4 (left), f2 (right)
+		for (int j = 48; j < 64; j++) {
+			t = Integer.rotateLeft(al + ((bl & dl) | (cl & ~dl)) + x[R_LEFT[j]] + 0x8F1BBCDC, S_LEFT[j]) + el;
+			al = el;
+			el = dl;
+			dl = Integer.rotateLeft(cl, 10);
+			cl = bl;
+			bl = t;
+			t = Integer.rotateLeft(ar + ((br & cr) | (~br & dr)) + x[R_RIGHT[j]] + 0x7A6D76E9, S_RIGHT[j]) + er;
+			ar = er;
+			er = dr;
+			dr = Integer.rotateLeft(cr, 10);
+			cr = br;
+			br = t;
+		}
+
+		// round 5: f5 (left), f1 (right)
+		for (int j = 64; j < 80; j++) {
+			t = Integer.rotateLeft(al + (bl ^ (cl | ~dl)) + x[R_LEFT[j]] + 0xA953FD4E, S_LEFT[j]) + el;
+			al = el;
+			el = dl;
+			dl = Integer.rotateLeft(cl, 10);
+			cl = bl;
+			bl = t;
+			t = Integer.rotateLeft(ar + (br ^ cr ^ dr) + x[R_RIGHT[j]], S_RIGHT[j]) + er;
+			ar = er;
+			er = dr;
+			dr = Integer.rotateLeft(cr, 10);
+			cr = br;
+			br = t;
+		}
+
+		// combine both lines & write result (little-endian)
+		putIntLE(H1 + cl + dr, dst, offset);
+		putIntLE(H2 + dl + er, dst, offset + 4);
+		putIntLE(H3 + el + ar, dst, offset + 8);
+		putIntLE(H4 + al + br, dst, offset + 12);
+		putIntLE(H0 + bl + cr, dst, offset + 16);
+	}
+
+	@SuppressWarnings("PointlessArithmeticExpression")
+	private static void putIntLE(int v, byte[] dst, int offset) {
+		dst[offset + 0] = (byte) v;
+		dst[offset + 1] = (byte) (v >>> 8);
+		dst[offset + 2] = (byte) (v >>> 16);
+		dst[offset + 3] = (byte) (v >>> 24);
+	}
+}
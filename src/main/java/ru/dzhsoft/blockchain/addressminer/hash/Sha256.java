@@ -0,0 +1,235 @@
+package ru.dzhsoft.blockchain.addressminer.hash;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 specialized for short fixed-size inputs used by address generators:
+ * each of them fits into one 64-byte block, so padding is precomputed and only one compression is done.
+ * <p>
+ * Digests are returned as 8 big-endian words (the state itself), so they can be chained
+ * without repacking (e.g. double SHA-256 or SHA-256 followed by RIPEMD-160).
+ * Instances are thread unsafe (reusable message schedule), but never allocate anything.
+ * <p>
+ * NB: when JVM compiles JCA SHA-256 as an intrinsic (SHA-NI/AVX2 instructions, Java 9+),
+ * it's much faster than any java code, so JCA digest is used in this case (see {@link #JCA_INTRINSIC}).
+ */
+public final class Sha256 {
+	public static final boolean JCA_INTRINSIC = isJcaIntrinsic();
+
+	private static final int[] K = {
+			0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
+			0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3, 0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174,
+			0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc, 0x2de92c6f, 0x4a7484aa, 0x5cb0a9dc, 0x76f988da,
+			0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7, 0xc6e00bf3, 0xd5a79147, 0x06ca6351, 0x14292967,
+			0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13, 0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85,
+			0xa2bfe8a1, 0xa81a664b, 0xc24b8b70, 0xc76c51a3, 0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070,
+			0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5, 0x391c0cb3, 0x4ed8aa4a, 0x5b9cca4f, 0x682e6ff3,
+			0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208, 0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2
+	};
+
+	private final int[] w = new int[64];
+	private final MessageDigest md;
+	private final byte[] mdBuffer = new byte[32];
+
+	public Sha256() {
+		this(JCA_INTRINSIC);
+	}
+
+	public Sha256(boolean useJca) {
+		try {
+			md = useJca ? MessageDigest.getInstance("SHA-256") : null;
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * SHA-256 of 33 bytes (compressed public key).
+	 */
+	public void hash33(byte[] src, int offset, int[] dst) {
+		if (md != null) {
+			md.update(src, offset, 33);
+			digestJca(dst);
+			return;
+		}
+		final int[] w = this.w;
+		for (int i = 0; i < 8; i++) {
+			w[i] = getIntBE(src, offset + (i << 2));
+		}
+		w[8] = ((src[offset + 32] & 0xFF) << 24) | 0x00800000;
+		for (int i = 9; i < 15; i++) {
+			w[i] = 0;
+		}
+		w[15] = 33 * 8;
+		compress(dst);
+	}
+
+	/**
+	 * SHA-256 of 21 bytes (version byte + hash160).
+	 */
+	public void hash21(byte[] src, int offset, int[] dst) {
+		if (md != null) {
+			md.update(src, offset, 21);
+			digestJca(dst);
+			return;
+		}
+		final int[] w = this.w;
+		for (int i = 0; i < 5; i++) {
+			w[i] = getIntBE(src, offset + (i << 2));
+		}
+		w[5] = ((src[offset + 20] & 0xFF) << 24) | 0x00800000;
+		for (int i = 6; i < 15; i++) {
+			w[i] = 0;
+		}
+		w[15] = 21 * 8;
+		compress(dst);
+	}
+
+	/**
+	 * SHA-256 of 32 bytes given as 8 big-endian words (e.g. the second round of double SHA-256).
+	 * The source and the destination can be the same array.
+	 */
+	public void hash32(int[] src, int[] dst) {
+		if (md != null) {
+			toBytes(src, mdBuffer, 0, 32);
+			md.update(mdBuffer, 0, 32);
+			digestJca(dst);
+			return;
+		}
+		final int[] w = this.w;
+		System.arraycopy(src, 0, w, 0, 8);
+		w[8] = 0x80000000;
+		for (int i = 9; i < 15; i++) {
+			w[i] = 0;
+		}
+		w[15] = 32 * 8;
+		compress(dst);
+	}
+
+	public static void toBytes(int[] words, byte[] dst, int offset, int len) {
+		for (int i = 0; i < len; i++) {
+			dst[offset + i] = (byte) (words[i >>> 2] >>> (24 - ((i & 0x03) << 3)));
+		}
+	}
+
+	private void digestJca(int[] dst) {
+		try {
+			md.digest(mdBuffer, 0, 32);
+		}
+		catch (DigestException e) {
+			throw new RuntimeException(e);
+		}
+		for (int i = 0; i < 8; i++) {
+			dst[i] = getIntBE(mdBuffer, i << 2);
+		}
+	}
+
+	private void compress(int[] dst) {
+		final int[] w = this.w;
+		for (int i = 16; i < 64; i++) {
+			final int w15 = w[i - 15], w2 = w[i - 2];
+			final int s0 = Integer.rotateRight(w15, 7) ^ Integer.rotateRight(w15, 18) ^ (w15 >>> 3);
+			final int s1 = Integer.rotateRight(w2, 17) ^ Integer.rotateRight(w2, 19) ^ (w2 >>> 10);
+			w[i] = w[i - 16] + s0 + w[i - 7] + s1;
+		}
+
+		int a = 0x6a09e667, b = 0xbb67ae85, c = 0x3c6ef372, d = 0xa54ff53a;
+		int e = 0x510e527f, f = 0x9b05688c, g = 0x1f83d9ab, h = 0x5be0cd19;
+
+		// 8 rounds per iteration (no variables rotation needed)
+		for (int i = 0; i < 64; i += 8) {
+			h += sigma1(e) + ch(e, f, g) + K[i] + w[i];
+			d += h;
+			h += sigma0(a) + maj(a, b, c);
+
+			g += sigma1(d) + ch(d, e, f) + K[i + 1] + w[i + 1];
+			c += g;
+			g += sigma0(h) + maj(h, a, b);
+
+			f += sigma1(c) + ch(c, d, e) + K[i + 2] + w[i + 2];
+			b += f;
+			f += sigma0(g) + maj(g, h, a);
+
+			e += sigma1(b) + ch(b, c, d) + K[i + 3] + w[i + 3];
+			a += e;
+			e += sigma0(f) + maj(f, g, h);
+
+			d += sigma1(a) + ch(a, b, c) + K[i + 4] + w[i + 4];
+			h += d;
+			d += sigma0(e) + maj(e, f, g);
+
+			c += sigma1(h) + ch(h, a, b) + K[i + 5] + w[i + 5];
+			g += c;
+			c += sigma0(d) + maj(d, e, f);
+
+			b += sigma1(g) + ch(g, h, a) + K[i + 6] + w[i + 6];
+			f += b;
+			b += sigma0(c) + maj(c, d, e);
+
+			a += sigma1(f) + ch(f, g, h) + K[i + 7] + w[i + 7];
+			e += a;
+			a += sigma0(b) + maj(b, c, d);
+		}
+
+		dst[0] = 0x6a09e667 + a;
+		dst[1] = 0xbb67ae85 + b;
+		dst[2] = 0x3c6ef372 + c;
+		dst[3] = 0xa54ff53a + d;
+		dst[4] = 0x510e527f + e;
+		dst[5] = 0x9b05688c + f;
+		dst[6] = 0x1f83d9ab + g;
+		dst[7] = 0x5be0cd19 + h;
+	}
+
+	private static int ch(int x, int y, int z) {
+		return (x & y) ^ (~x & z);
+	}
+
+	private static int maj(int x, int y, int z) {
+		return (x & y) ^ (x & z) ^ (y & z);
+	}
+
+	private static int sigma0(int x) {
+		return Integer.rotateRight(x, 2) ^ Integer.rotateRight(x, 13) ^ Integer.rotateRight(x, 22);
+	}
+
+	private static int sigma1(int x) {
+		return Integer.rotateRight(x, 6) ^ Integer.rotateRight(x, 11) ^ Integer.rotateRight(x, 25);
+	}
+
+	@SuppressWarnings("PointlessArithmeticExpression")
+	private static int getIntBE(byte[] src, int offset) {
+		return ((src[offset + 0] & 0xFF) << 24) | ((src[offset + 1] & 0xFF) << 16)
+				| ((src[offset + 2] & 0xFF) << 8) | (src[offset + 3] & 0xFF);
+	}
+
+	private static boolean isJcaIntrinsic() {
+		final HotSpotDiagnosticMXBean hotSpot;
+		try {
+			hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+		}
+		catch (RuntimeException e) {
+			return false; // not a HotSpot JVM
+		}
+		if (hotSpot == null) {
+			return false;
+		}
+
+		// the intrinsic option itself is diagnostic since Java 9 (so it could be unavailable),
+		// then check the generic one (it's enabled only if CPU supports SHA intrinsics)
+		for (String option : new String[] { "UseSHA256Intrinsics", "UseSHA" }) {
+			try {
+				return Boolean.parseBoolean(hotSpot.getVMOption(option).getValue());
+			}
+			catch (IllegalArgumentException ignore) {
+			}
+		}
+		return false;
+	}
+}
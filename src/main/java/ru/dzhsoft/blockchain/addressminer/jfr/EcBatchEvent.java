@@ -0,0 +1,25 @@
+package ru.dzhsoft.blockchain.addressminer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evaluation of a batch of subsequent EC points (sharing one field inversion).
+ */
+@Name("ru.dzhsoft.addressminer.EcBatch")
+@Label("EC Batch")
+@Category("Address Miner")
+@Description("Evaluation of a batch of subsequent EC points")
+@StackTrace(false)
+public class EcBatchEvent extends Event {
+	@Label("Batch Size")
+	public int batchSize;
+
+	@Label("Evaluated")
+	@Description("False if the batch is failed (doubling or point at infinity), the subsequence is restarted")
+	public boolean evaluated;
+}
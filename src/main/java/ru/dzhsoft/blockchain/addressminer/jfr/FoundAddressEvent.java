@@ -0,0 +1,27 @@
+package ru.dzhsoft.blockchain.addressminer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Found address (private key isn't recorded, it's logged only).
+ */
+@Name("ru.dzhsoft.addressminer.FoundAddress")
+@Label("Found Address")
+@Category("Address Miner")
+@Description("Address matching a pattern")
+@StackTrace(false)
+public class FoundAddressEvent extends Event {
+	@Label("Currency")
+	public String currency;
+
+	@Label("Address")
+	public String address;
+
+	@Label("Pattern")
+	public String pattern;
+}
@@ -0,0 +1,89 @@
+package ru.dzhsoft.blockchain.addressminer.jfr;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * JFR events of the miner (it's loaded by {@link MinerEvents#get()} by reflection).
+ */
+class JfrMinerEvents extends MinerEvents {
+	private static final EventType EC_BATCH_EVENT_TYPE = EventType.getEventType(EcBatchEvent.class);
+	private static final EventType RANDOM_STARVATION_EVENT_TYPE = EventType.getEventType(RandomStarvationEvent.class);
+
+	@Override
+	public boolean isJfrAvailable() {
+		return true;
+	}
+
+	@Override
+	public Object beginEcBatch() {
+		// no event object unless a recording needs it (it's not always eliminated by escape analysis)
+		if (!EC_BATCH_EVENT_TYPE.isEnabled()) {
+			return null;
+		}
+		final EcBatchEvent event = new EcBatchEvent();
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public void commitEcBatch(Object event, int batchSize, boolean evaluated) {
+		final EcBatchEvent ecBatchEvent = (EcBatchEvent) event;
+		if (ecBatchEvent.shouldCommit()) {
+			ecBatchEvent.batchSize = batchSize;
+			ecBatchEvent.evaluated = evaluated;
+			ecBatchEvent.commit();
+		}
+	}
+
+	@Override
+	public Object beginRandomStarvation() {
+		if (!RANDOM_STARVATION_EVENT_TYPE.isEnabled()) {
+			return null;
+		}
+		final RandomStarvationEvent event = new RandomStarvationEvent();
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public void commitRandomStarvation(Object event, int requestedBytes, int prngBytes) {
+		final RandomStarvationEvent starvationEvent = (RandomStarvationEvent) event;
+		if (starvationEvent.shouldCommit()) {
+			starvationEvent.requestedBytes = requestedBytes;
+			starvationEvent.prngBytes = prngBytes;
+			starvationEvent.commit();
+		}
+	}
+
+	@Override
+	public void commitFoundAddress(String currency, CharSequence address, String pattern) {
+		final FoundAddressEvent event = new FoundAddressEvent();
+		if (event.shouldCommit()) {
+			event.currency = currency;
+			event.address = address.toString();
+			event.pattern = pattern;
+			event.commit();
+		}
+	}
+
+	@Override
+	public void addWorkerThroughputHook(Runnable hook) {
+		FlightRecorder.addPeriodicEvent(WorkerThroughputEvent.class, hook);
+	}
+
+	@Override
+	public void removeWorkerThroughputHook(Runnable hook) {
+		FlightRecorder.removePeriodicEvent(hook);
+	}
+
+	@Override
+	public void commitWorkerThroughput(int worker, long keysScanned, long totalKeysScanned, boolean alive) {
+		final WorkerThroughputEvent event = new WorkerThroughputEvent();
+		event.worker = worker;
+		event.keysScanned = keysScanned;
+		event.totalKeysScanned = totalKeysScanned;
+		event.alive = alive;
+		event.commit();
+	}
+}
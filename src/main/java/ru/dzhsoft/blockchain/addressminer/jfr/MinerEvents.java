@@ -0,0 +1,65 @@
+package ru.dzhsoft.blockchain.addressminer.jfr;
+
+import static ru.dzhsoft.blockchain.addressminer.util.Helper.log;
+
+/**
+ * Events of the miner: this class emits nothing, JFR events are emitted by its subclass loaded by reflection,
+ * so the miner runs on JVMs without JFR as well (no class of the miner but the subclass & events links jdk.jfr).
+ * <p>
+ * Events having duration are started by begin* methods: they return null unless a recording needs the event,
+ * so nothing is allocated in the hot path if there is no recording.
+ */
+public class MinerEvents {
+	private static final String JFR_EVENTS_CLASS = "ru.dzhsoft.blockchain.addressminer.jfr.JfrMinerEvents";
+	private static final MinerEvents INSTANCE = load();
+
+	MinerEvents() {
+	}
+
+	public static MinerEvents get() {
+		return INSTANCE;
+	}
+
+	private static MinerEvents load() {
+		try {
+			return (MinerEvents) Class.forName(JFR_EVENTS_CLASS).getDeclaredConstructor().newInstance();
+		}
+		catch (ReflectiveOperationException | LinkageError e) {
+			log("WARN: JFR isn't available, its events are disabled: " + e);
+			return new MinerEvents();
+		}
+	}
+
+	public boolean isJfrAvailable() {
+		return false;
+	}
+
+	public Object beginEcBatch() {
+		return null;
+	}
+
+	public void commitEcBatch(Object event, int batchSize, boolean evaluated) {
+	}
+
+	public Object beginRandomStarvation() {
+		return null;
+	}
+
+	public void commitRandomStarvation(Object event, int requestedBytes, int prngBytes) {
+	}
+
+	public void commitFoundAddress(String currency, CharSequence address, String pattern) {
+	}
+
+	/**
+	 * Add the hook emitting worker throughput events by {@link #commitWorkerThroughput} (every second).
+	 */
+	public void addWorkerThroughputHook(Runnable hook) {
+	}
+
+	public void removeWorkerThroughputHook(Runnable hook) {
+	}
+
+	public void commitWorkerThroughput(int worker, long keysScanned, long totalKeysScanned, boolean alive) {
+	}
+}
@@ -0,0 +1,27 @@
+package ru.dzhsoft.blockchain.addressminer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Random source is lacking data, so (some) bytes are generated by PRNG.
+ */
+@Name("ru.dzhsoft.addressminer.RandomStarvation")
+@Label("Random Starvation")
+@Category("Address Miner")
+@Description("Random source is lacking data, bytes are generated by PRNG")
+@StackTrace(false)
+public class RandomStarvationEvent extends Event {
+	@Label("Requested Bytes")
+	@DataAmount
+	public int requestedBytes;
+
+	@Label("PRNG Bytes")
+	@DataAmount
+	public int prngBytes;
+}
@@ -0,0 +1,33 @@
+package ru.dzhsoft.blockchain.addressminer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * Periodic throughput of a miner worker.
+ */
+@Name("ru.dzhsoft.addressminer.WorkerThroughput")
+@Label("Worker Throughput")
+@Category("Address Miner")
+@Description("Keys checked by a miner worker")
+@Period("1 s")
+@StackTrace(false)
+public class WorkerThroughputEvent extends Event {
+	@Label("Worker")
+	public int worker;
+
+	@Label("Keys Scanned")
+	@Description("Keys checked since the previous event")
+	public long keysScanned;
+
+	@Label("Total Keys Scanned")
+	public long totalKeysScanned;
+
+	@Label("Alive")
+	public boolean alive;
+}
@@ -1,6 +1,10 @@
 package ru.dzhsoft.blockchain.addressminer.util;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static java.lang.System.arraycopy;
@@ -9,6 +13,21 @@ public class Base58Encoder {
 	public static final char[] ALPHABET =
 			"123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz".toCharArray();
 	private static final char ENCODED_ZERO = ALPHABET[0];
+	private static final BigInteger BASE = BigInteger.valueOf(58);
+	private static final int[] INDEXES = new int[128];
+
+	static {
+		Arrays.fill(INDEXES, -1);
+		for (int i = 0; i < ALPHABET.length; i++) {
+			INDEXES[ALPHABET[i]] = i;
+		}
+	}
+
+	// 25-byte payload (version + hash160 + checksum): up to 35 chars, evaluated by 5 chars per 58^5 division
+	public static final int ADDRESS_SIZE = 25;
+	public static final int ADDRESS_MAX_ENCODED_SIZE = 35;
+	private static final long BASE58_POW5 = 58L * 58 * 58 * 58 * 58;
+	private static final long M = 0xFFFFFFFFL;
 
 	private static final ThreadLocal<Map<Integer, CachedData>> CACHED_DATA =
 			ThreadLocal.withInitial(HashMap::new);
@@ -74,6 +93,220 @@ public class Base58Encoder {
 		return count;
 	}
 
+	/**
+	 * Encode 25-byte payload (e.g. BTC-like address: version + hash160 + checksum) without any helper buffers:
+	 * the number is kept as seven 32-bit limbs (the top one has only 8 bits) and each pass divides it by 58^5
+	 * (the remainder fits into int and gives 5 chars), so 7 passes instead of one long division per char.
+	 * Output must have at least {@link #ADDRESS_MAX_ENCODED_SIZE} chars available starting at offset
+	 * (they are used as temporary storage), the encoded chars are moved to offset.
+	 *
+	 * @return count of the encoded chars
+	 */
+	@SuppressWarnings("PointlessArithmeticExpression")
+	public static int encode25Into(byte[] input, char[] output, int offset) {
+		if (input.length != ADDRESS_SIZE) {
+			throw new IllegalArgumentException("input.len=" + input.length + " (must be " + ADDRESS_SIZE + ")");
+		}
+		final int end = offset + ADDRESS_MAX_ENCODED_SIZE;
+		if (end > output.length) {
+			throw new IndexOutOfBoundsException(String.format(
+					"output.len=%d, offset=%d, encoded.max.len=%d",
+					output.length, offset, ADDRESS_MAX_ENCODED_SIZE));
+		}
+
+		// load big-endian number: 8 + 6 * 32 bits
+		long l6 = input[0] & 0xFF;
+		long l5 = getIntBE(input, 1 + 0 * 4) & M;
+		long l4 = getIntBE(input, 1 + 1 * 4) & M;
+		long l3 = getIntBE(input, 1 + 2 * 4) & M;
+		long l2 = getIntBE(input, 1 + 3 * 4) & M;
+		long l1 = getIntBE(input, 1 + 4 * 4) & M;
+		long l0 = getIntBE(input, 1 + 5 * 4) & M;
+
+		// convert to base-58 digits (from the least significant, plus conversion to ASCII characters)
+		int pos = end;
+		while (pos > offset) {
+			// long division by 58^5 (remainder is less than 2^30, so (remainder << 32) fits into long)
+			long r = l6;
+			l6 = r / BASE58_POW5;
+			r = ((r - l6 * BASE58_POW5) << 32) | l5;
+			l5 = r / BASE58_POW5;
+			r = ((r - l5 * BASE58_POW5) << 32) | l4;
+			l4 = r / BASE58_POW5;
+			r = ((r - l4 * BASE58_POW5) << 32) | l3;
+			l3 = r / BASE58_POW5;
+			r = ((r - l3 * BASE58_POW5) << 32) | l2;
+			l2 = r / BASE58_POW5;
+			r = ((r - l2 * BASE58_POW5) << 32) | l1;
+			l1 = r / BASE58_POW5;
+			r = ((r - l1 * BASE58_POW5) << 32) | l0;
+			l0 = r / BASE58_POW5;
+			int rem = (int) (r - l0 * BASE58_POW5);
+			for (int i = 0; i < 5; i++) {
+				output[--pos] = ALPHABET[rem % 58];
+				rem /= 58;
+			}
+		}
+
+		// Preserve exactly as many leading encoded zeros in output as there were leading zeros in input
+		// (they are already there: 35 chars are enough for the number plus its leading zeros)
+		int zeros = 0;
+		while ((zeros < ADDRESS_SIZE) && (input[zeros] == 0)) {
+			++zeros;
+		}
+		int outputStart = offset;
+		while ((outputStart < end) && (output[outputStart] == ENCODED_ZERO)) {
+			++outputStart;
+		}
+		outputStart -= zeros;
+
+		// move encoded data to offset
+		final int count = end - outputStart;
+		if (outputStart != offset) {
+			arraycopy(output, outputStart, output, offset, count);
+		}
+		return count;
+	}
+
+	/**
+	 * Get 25-byte payload modulo 58^5, i.e. the last 5 digits of its encoding (as a number), without encoding:
+	 * just one pass of the long division from {@link #encode25Into(byte[], char[], int)} (remainders only).
+	 */
+	@SuppressWarnings("PointlessArithmeticExpression")
+	public static long mod58Pow5(byte[] input) {
+		if (input.length != ADDRESS_SIZE) {
+			throw new IllegalArgumentException("input.len=" + input.length + " (must be " + ADDRESS_SIZE + ")");
+		}
+		long r = input[0] & 0xFF;
+		r = ((r % BASE58_POW5) << 32) | (getIntBE(input, 1 + 0 * 4) & M);
+		r = ((r % BASE58_POW5) << 32) | (getIntBE(input, 1 + 1 * 4) & M);
+		r = ((r % BASE58_POW5) << 32) | (getIntBE(input, 1 + 2 * 4) & M);
+		r = ((r % BASE58_POW5) << 32) | (getIntBE(input, 1 + 3 * 4) & M);
+		r = ((r % BASE58_POW5) << 32) | (getIntBE(input, 1 + 4 * 4) & M);
+		r = ((r % BASE58_POW5) << 32) | (getIntBE(input, 1 + 5 * 4) & M);
+		return r % BASE58_POW5;
+	}
+
+	/**
+	 * Get residue of payloads which encodings end with the suffix: the last k chars are just the payload
+	 * modulo 58^k (leading '1' chars are zero digits as well). Only the last (up to) 5 chars are taken into
+	 * account to be checked with {@link #mod58Pow5(byte[])}, so the check is partial for longer suffixes.
+	 *
+	 * @return pair {58^k, residue} (empty if the suffix has wrong chars or is too long for the payload size)
+	 */
+	public static long[] getSuffixResidue(String suffix, int size) {
+		final int maxDigits = (int) Math.ceil(size * 8 / (Math.log(58) / Math.log(2)));
+		if (suffix.length() > maxDigits) {
+			return new long[0];
+		}
+		long modulus = 1;
+		long residue = 0;
+		for (int i = 0; i < suffix.length(); i++) {
+			final char c = suffix.charAt(i);
+			final int digit = (c < INDEXES.length) ? INDEXES[c] : -1;
+			if (digit < 0) {
+				return new long[0];
+			}
+			if (i >= suffix.length() - 5) {
+				residue = residue * 58 + digit;
+				modulus *= 58;
+			}
+		}
+		return new long[] { modulus, residue };
+	}
+
+	/**
+	 * Get intervals of numbers (payloads of the given size in bytes) which encodings start with the prefix.
+	 * Leading zero bytes are encoded as leading '1' chars, the rest is encoded as a number, so for each count
+	 * of leading zero bytes and each count of digits it's just one interval [P * 58^k, (P + 1) * 58^k).
+	 *
+	 * @param prefix
+	 * 		the prefix of encoded payloads
+	 * @param size
+	 * 		size of payloads (in bytes)
+	 * @param min
+	 * 		the minimal payload to take into account (inclusive)
+	 * @param max
+	 * 		the maximal payload to take into account (exclusive)
+	 *
+	 * @return sorted non-overlapping intervals: pairs of [inclusive, exclusive) bounds (empty if no matching payload)
+	 */
+	public static List<BigInteger[]> getPrefixIntervals(String prefix, int size, BigInteger min, BigInteger max) {
+		final List<BigInteger[]> intervals = new ArrayList<>();
+
+		// decode prefix as a number (any wrong char means no matching at all)
+		int prefixZeros = 0;
+		while ((prefixZeros < prefix.length()) && (prefix.charAt(prefixZeros) == ENCODED_ZERO)) {
+			++prefixZeros;
+		}
+		BigInteger prefixValue = BigInteger.ZERO;
+		for (int i = prefixZeros; i < prefix.length(); i++) {
+			final char c = prefix.charAt(i);
+			final int digit = (c < INDEXES.length) ? INDEXES[c] : -1;
+			if (digit < 0) {
+				return intervals;
+			}
+			prefixValue = prefixValue.multiply(BASE).add(BigInteger.valueOf(digit));
+		}
+		final int prefixDigits = prefix.length() - prefixZeros;
+
+		// exactly z leading zero bytes: [256^(size-z-1), 256^(size-z)) (or just [0, 1) for all zeros),
+		// the digits of the number itself can't start with zero (i.e. with '1' char)
+		final int maxDigits = (int) Math.ceil(size * 8 / (Math.log(58) / Math.log(2)));
+		for (int z = size; z >= 0; z--) {
+			final BigInteger zerosMin = (z == size) ? BigInteger.ZERO : BigInteger.ONE.shiftLeft((size - z - 1) * 8);
+			final BigInteger zerosMax = BigInteger.ONE.shiftLeft((size - z) * 8);
+			if (prefixDigits == 0) {
+				// prefix of '1' chars only: leading zero bytes must cover it
+				if (prefixZeros <= z) {
+					addInterval(intervals, zerosMin, zerosMax, min, max);
+				}
+				continue;
+			}
+			if ((prefixZeros != z) || (z == size)) {
+				continue;
+			}
+			for (int d = prefixDigits; d <= maxDigits; d++) {
+				final BigInteger scale = BASE.pow(d - prefixDigits);
+				addInterval(intervals,
+						prefixValue.multiply(scale).max(zerosMin),
+						prefixValue.add(BigInteger.ONE).multiply(scale).min(zerosMax),
+						min, max);
+			}
+		}
+		return intervals;
+	}
+
+	private static void addInterval(
+			List<BigInteger[]> intervals,
+			BigInteger from,
+			BigInteger to,
+			BigInteger min,
+			BigInteger max
+	) {
+		from = from.max(min);
+		to = to.min(max);
+		if (from.compareTo(to) >= 0) {
+			return;
+		}
+
+		// intervals are added in ascending order, so just join with the last one when possible
+		if (!intervals.isEmpty()) {
+			final BigInteger[] last = intervals.get(intervals.size() - 1);
+			if (last[1].compareTo(from) >= 0) {
+				last[1] = last[1].max(to);
+				return;
+			}
+		}
+		intervals.add(new BigInteger[] { from, to });
+	}
+
+	@SuppressWarnings("PointlessArithmeticExpression")
+	private static int getIntBE(byte[] src, int offset) {
+		return ((src[offset + 0] & 0xFF) << 24) | ((src[offset + 1] & 0xFF) << 16)
+				| ((src[offset + 2] & 0xFF) << 8) | (src[offset + 3] & 0xFF);
+	}
+
 	/**
 	 * Divides a number, represented as an array of bytes each containing a single digit
 	 * in the specified base, by the given divisor. The given number is modified in-place
@@ -1,5 +1,7 @@
 package ru.dzhsoft.blockchain.addressminer.util;
 
+import ru.dzhsoft.blockchain.addressminer.jfr.MinerEvents;
+
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -19,6 +21,8 @@ public class FastRandom extends Thread {
 	public static final String DEFAULT_RANDOM_SOURCE_FILE_PATH = "/dev/urandom";
 
 	private static final ThreadLocal<Random> RANDOM_THREAD_LOCAL = ThreadLocal.withInitial(Random::new);
+	private static final MinerEvents EVENTS = MinerEvents.get();
+
 	private FileInputStream randomInputStream;
 
 	private static final int ALIGN_SIZE = 0x4;
@@ -99,6 +103,9 @@ public class FastRandom extends Thread {
 
 		// get Random for PRNG (used when random source is lacking new data)
 		final Random rnd = RANDOM_THREAD_LOCAL.get();
+		final Object event = EVENTS.beginRandomStarvation(); // null unless a recording needs it
+		final int requestedCount = count;
+		int prngCount = 0;
 
 		// Main Loop
 		int srcIdx, endIdx;
@@ -147,6 +154,7 @@ public class FastRandom extends Thread {
 					}
 					prngBytes.addAndGet(n);
 					filledBytes.addAndGet(n);
+					prngCount += n;
 					count -= n;
 
 					// re-seed random
@@ -154,6 +162,11 @@ public class FastRandom extends Thread {
 				}
 			}
 		}
+
+		// PRNG is used while the random source is read, i.e. the source is too slow
+		if ((prngCount > 0) && running && (event != null)) {
+			EVENTS.commitRandomStarvation(event, requestedCount, prngCount);
+		}
 	}
 
 	private int nextSrcPos(int srcIdx, int count) {
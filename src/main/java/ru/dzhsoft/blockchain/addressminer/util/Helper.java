@@ -3,6 +3,7 @@ package ru.dzhsoft.blockchain.addressminer.util;
 import org.bouncycastle.math.ec.ECPoint;
 import ru.dzhsoft.blockchain.addressminer.Constants;
 
+import java.math.BigInteger;
 import java.util.Date;
 
 import static java.lang.System.out;
@@ -33,4 +34,20 @@ public class Helper {
 		}
 		return Constants.CURVE.getCurve().decodePoint(encoded);
 	}
+
+	public static byte[] toBytes32(BigInteger value) {
+		final byte[] bytes = value.toByteArray();
+		final byte[] result = new byte[32];
+		final int len = Math.min(bytes.length, 32);
+		System.arraycopy(bytes, bytes.length - len, result, 32 - len, len);
+		return result;
+	}
+
+	public static long getLongBE(byte[] src, int offset) {
+		long value = 0;
+		for (int i = 0; i < 8; i++) {
+			value = (value << 8) | (src[offset + i] & 0xFF);
+		}
+		return value;
+	}
 }
@@ -0,0 +1,79 @@
+package ru.dzhsoft.blockchain.addressminer.util;
+
+/**
+ * Histogram of latencies (nanoseconds) by power of 2 buckets written by a single thread and readable by other
+ * threads (it's based on {@link PaddedCounters}). Snapshots are plain arrays, so histograms of several writers
+ * are merged by just adding their snapshots.
+ * <p>
+ * Snapshot layout: counts of buckets (bucket i has values in [2^(i-1), 2^i), bucket 0 has zeros only),
+ * then the total count and the total sum.
+ */
+public class LatencyHistogram {
+	public static final int BUCKETS = 48;
+	public static final int COUNT = BUCKETS;
+	public static final int SUM = BUCKETS + 1;
+	public static final int SNAPSHOT_SIZE = BUCKETS + 2;
+
+	private final PaddedCounters counters = new PaddedCounters(SNAPSHOT_SIZE);
+
+	/**
+	 * Record the value (by the writer thread only).
+	 */
+	public void record(long nanos) {
+		final long value = Math.max(nanos, 0);
+		counters.add(getBucket(value), 1);
+		counters.add(COUNT, 1);
+		counters.add(SUM, value);
+	}
+
+	/**
+	 * Add current values to the snapshot (i.e. merge the histogram into it).
+	 */
+	public void addTo(long[] snapshot) {
+		for (int i = 0; i < SNAPSHOT_SIZE; i++) {
+			snapshot[i] += counters.get(i);
+		}
+	}
+
+	public static long[] newSnapshot() {
+		return new long[SNAPSHOT_SIZE];
+	}
+
+	public static int getBucket(long nanos) {
+		return Math.min(64 - Long.numberOfLeadingZeros(nanos), BUCKETS - 1);
+	}
+
+	/**
+	 * Get upper bound (exclusive) of values of the bucket.
+	 */
+	public static long getBucketBound(int bucket) {
+		return 1L << bucket;
+	}
+
+	public static long getCount(long[] snapshot) {
+		return snapshot[COUNT];
+	}
+
+	public static double getMean(long[] snapshot) {
+		return (snapshot[COUNT] > 0) ? (snapshot[SUM] / (double) snapshot[COUNT]) : 0d;
+	}
+
+	/**
+	 * Get upper bound (exclusive) of values of the quantile (0 if the snapshot is empty).
+	 */
+	public static long getQuantileBound(long[] snapshot, double quantile) {
+		final long count = snapshot[COUNT];
+		if (count == 0) {
+			return 0;
+		}
+		final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				return getBucketBound(i);
+			}
+		}
+		return getBucketBound(BUCKETS - 1);
+	}
+}
@@ -0,0 +1,326 @@
+package ru.dzhsoft.blockchain.addressminer.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Read-only dictionary of words (one per line, '#' for comments, leading '^' means a prefix word,
+ * otherwise it's a substring word) for looking up texts containing any word.
+ * <p>
+ * The file is memory-mapped as is, words are indexed by a sorted off-heap array of (offset, length) pairs,
+ * so nothing depends on the dictionary size on the heap (except fixed tables: ranges by the first two chars
+ * and a bitmap of hashes of the first chars to skip most offsets without any search). The dictionary
+ * is immutable, so it can be shared between threads.
+ */
+public class MappedDictionary {
+	private static final byte PREFIX_MARK = '^';
+	private static final int CHARS = 128;
+	// words are prefiltered by hashes of their first (up to) 6 chars: bloom filter of 2^24 bits (fixed size)
+	private static final int KEY_CHARS = 6;
+	private static final int KEY_BITS = 24;
+
+	private final String path;
+	private final MappedByteBuffer data;
+	// (offset, length) of each word sorted by words
+	private final IntBuffer index;
+	private final int count;
+	// words of a single char (index + 1) & start indexes of words by their first two chars (they are sorted)
+	private final int[] singleCharWords = new int[CHARS];
+	private final int[] starts = new int[CHARS * CHARS + 1];
+	private final long[] keyBits = new long[1 << (KEY_BITS - 6)];
+	// bitmap of key lengths of words (1..6)
+	private int keyLengths;
+
+	private MappedDictionary(String path, MappedByteBuffer data, IntBuffer index, int count) {
+		this.path = path;
+		this.data = data;
+		this.index = index;
+		this.count = count;
+	}
+
+	public static MappedDictionary load(File file) throws IOException {
+		final MappedByteBuffer data;
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("dictionary is too big: " + file);
+			}
+			data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		// index words (two passes: count, then fill)
+		final int count = indexWords(data, null);
+		final IntBuffer index = ByteBuffer.allocateDirect(Math.max(count, 1) * 8)
+				.order(ByteOrder.nativeOrder())
+				.asIntBuffer();
+		indexWords(data, index);
+		final MappedDictionary dict = new MappedDictionary(file.getPath(), data, index, count);
+		if (!dict.isSorted()) {
+			dict.sort();
+		}
+		dict.fillStarts();
+		dict.fillKeyBits();
+		return dict;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	public int getWordCount() {
+		return count;
+	}
+
+	/**
+	 * Find a word in the text: prefix words at the start only, substring words anywhere.
+	 *
+	 * @return index of the found word or -1
+	 */
+	public int find(CharSequence text) {
+		for (int from = -1; from < text.length(); from++) {
+			if (mayStartWord(text, from)) {
+				final int idx = findAt(text, from);
+				if (idx >= 0) {
+					return idx;
+				}
+			}
+		}
+		return -1;
+	}
+
+	public String getWord(int idx) {
+		final byte[] bytes = new byte[index.get(idx * 2 + 1)];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = data.get(index.get(idx * 2) + i);
+		}
+		return new String(bytes, US_ASCII);
+	}
+
+	// check hashes of the first chars (of each key length) of the text starting at the offset
+	private boolean mayStartWord(CharSequence text, int from) {
+		final int available = (from < 0) ? (text.length() + 1) : (text.length() - from);
+		long hash = 0;
+		for (int len = 1; (len <= KEY_CHARS) && (len <= available); len++) {
+			hash = hash * 131 + queryChar(text, from, len - 1);
+			if (((keyLengths & (1 << len)) != 0) && isKeySet(hash * KEY_CHARS + len)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// bloom filter with two hash functions (the halves of the mixed key)
+	private boolean isKeySet(long key) {
+		final long mixed = key * 0x9E3779B97F4A7C15L;
+		final int key1 = (int) (mixed >>> (64 - KEY_BITS));
+		final int key2 = (int) mixed >>> (32 - KEY_BITS);
+		return ((keyBits[key1 >>> 6] & (1L << key1)) != 0) && ((keyBits[key2 >>> 6] & (1L << key2)) != 0);
+	}
+
+	private void fillKeyBits() {
+		for (int idx = 0; idx < count; idx++) {
+			final int len = Math.min(getLength(idx), KEY_CHARS);
+			long hash = 0;
+			for (int i = 0; i < len; i++) {
+				hash = hash * 131 + getByte(idx, i);
+			}
+			final long mixed = (hash * KEY_CHARS + len) * 0x9E3779B97F4A7C15L;
+			final int key1 = (int) (mixed >>> (64 - KEY_BITS));
+			final int key2 = (int) mixed >>> (32 - KEY_BITS);
+			keyBits[key1 >>> 6] |= 1L << key1;
+			keyBits[key2 >>> 6] |= 1L << key2;
+			keyLengths |= 1 << len;
+		}
+	}
+
+	// find a word which the text (starting at the offset, -1 means the prefix mark and the whole text) starts with
+	private int findAt(CharSequence text, int from) {
+		final int available = (from < 0) ? (text.length() + 1) : (text.length() - from);
+		if (available <= 0) {
+			return -1;
+		}
+		final int c0 = queryChar(text, from, 0);
+		if (c0 < 0) {
+			return -1;
+		}
+		if (singleCharWords[c0] != 0) {
+			return singleCharWords[c0] - 1;
+		}
+		if (available < 2) {
+			return -1;
+		}
+		final int c1 = queryChar(text, from, 1);
+		if (c1 < 0) {
+			return -1;
+		}
+
+		// narrow the range of words having the same first chars as the text (the shortest word is the first one)
+		int lo = starts[(c0 << 7) | c1];
+		int hi = starts[((c0 << 7) | c1) + 1];
+		for (int depth = 2; lo < hi; depth++) {
+			if (getLength(lo) == depth) {
+				return lo;
+			}
+			if (depth >= available) {
+				return -1;
+			}
+			final int c = queryChar(text, from, depth);
+			if (c < 0) {
+				return -1;
+			}
+			lo = lowerBound(lo, hi, depth, c);
+			hi = lowerBound(lo, hi, depth, c + 1);
+		}
+		return -1;
+	}
+
+	private static int queryChar(CharSequence text, int from, int depth) {
+		final char c = (from >= 0) ? text.charAt(from + depth)
+				: ((depth == 0) ? (char) PREFIX_MARK : text.charAt(depth - 1));
+		return isWordChar(c) ? c : -1;
+	}
+
+	// the first word in [lo, hi) having the char at depth >= c (all the words are longer than depth)
+	private int lowerBound(int lo, int hi, int depth, int c) {
+		while (lo < hi) {
+			final int mid = (lo + hi) >>> 1;
+			if (getByte(mid, depth) < c) {
+				lo = mid + 1;
+			}
+			else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	private int getLength(int idx) {
+		return index.get(idx * 2 + 1);
+	}
+
+	private int getByte(int idx, int pos) {
+		return data.get(index.get(idx * 2) + pos) & 0xFF;
+	}
+
+	private void fillStarts() {
+		// starts[key] is the first word having two first chars >= key (single char words go before)
+		int idx = 0;
+		for (int key = 0; key <= CHARS * CHARS; key++) {
+			while ((idx < count) && (getKey(idx) < key)) {
+				if (getLength(idx) == 1) {
+					singleCharWords[getByte(idx, 0)] = idx + 1;
+				}
+				idx++;
+			}
+			starts[key] = idx;
+		}
+	}
+
+	// key of the first two chars (a single char word goes before all words starting with the char)
+	private int getKey(int idx) {
+		return (getLength(idx) == 1) ? ((getByte(idx, 0) << 7) - 1) : ((getByte(idx, 0) << 7) | getByte(idx, 1));
+	}
+
+	private static int indexWords(MappedByteBuffer data, IntBuffer index) {
+		int count = 0;
+		final int size = data.limit();
+		for (int lineStart = 0; lineStart < size; ) {
+			int lineEnd = lineStart;
+			while ((lineEnd < size) && (data.get(lineEnd) != '\n')) {
+				lineEnd++;
+			}
+
+			// trim the line & check it (only ASCII words are taken into account)
+			int from = lineStart, to = lineEnd;
+			while ((from < to) && (data.get(from) <= ' ') && (data.get(from) >= 0)) {
+				from++;
+			}
+			while ((to > from) && (data.get(to - 1) <= ' ') && (data.get(to - 1) >= 0)) {
+				to--;
+			}
+			boolean valid = (to > from) && (data.get(from) != '#')
+					&& !((to - from == 1) && (data.get(from) == PREFIX_MARK));
+			for (int i = from; valid && (i < to); i++) {
+				valid = isWordChar(data.get(i));
+			}
+			if (valid) {
+				if (index != null) {
+					index.put(count * 2, from);
+					index.put(count * 2 + 1, to - from);
+				}
+				count++;
+			}
+			lineStart = lineEnd + 1;
+		}
+		return count;
+	}
+
+	// printable ASCII chars only
+	private static boolean isWordChar(int c) {
+		return (c > ' ') && (c < CHARS - 1);
+	}
+
+	private int compare(int idx1, int idx2) {
+		final int len1 = getLength(idx1), len2 = getLength(idx2);
+		final int off1 = index.get(idx1 * 2), off2 = index.get(idx2 * 2);
+		for (int i = 0, len = Math.min(len1, len2); i < len; i++) {
+			final int diff = (data.get(off1 + i) & 0xFF) - (data.get(off2 + i) & 0xFF);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return len1 - len2;
+	}
+
+	private boolean isSorted() {
+		for (int i = 1; i < count; i++) {
+			if (compare(i - 1, i) > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// heapsort (in place, without recursion)
+	private void sort() {
+		for (int i = count / 2 - 1; i >= 0; i--) {
+			siftDown(i, count);
+		}
+		for (int end = count - 1; end > 0; end--) {
+			swap(0, end);
+			siftDown(0, end);
+		}
+	}
+
+	private void siftDown(int root, int end) {
+		while (true) {
+			int child = root * 2 + 1;
+			if (child >= end) {
+				return;
+			}
+			if ((child + 1 < end) && (compare(child, child + 1) < 0)) {
+				child++;
+			}
+			if (compare(root, child) >= 0) {
+				return;
+			}
+			swap(root, child);
+			root = child;
+		}
+	}
+
+	private void swap(int idx1, int idx2) {
+		final int off = index.get(idx1 * 2), len = index.get(idx1 * 2 + 1);
+		index.put(idx1 * 2, index.get(idx2 * 2));
+		index.put(idx1 * 2 + 1, index.get(idx2 * 2 + 1));
+		index.put(idx2 * 2, off);
+		index.put(idx2 * 2 + 1, len);
+	}
+}
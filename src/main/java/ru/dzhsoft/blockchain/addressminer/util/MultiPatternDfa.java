@@ -0,0 +1,454 @@
+package ru.dzhsoft.blockchain.addressminer.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Regexes (a restricted subset) compiled into one DFA, so a text is scanned once for all the patterns
+ * (i.e. the cost doesn't depend on count of patterns). The subset is: literal chars (escaped if necessary),
+ * '.', \d \D \w \W, classes ([...], [^...]) of literals, ranges, \d and \w, greedy quantifiers
+ * (?, *, +, {n}, {n,}, {n,m}), ^ at the start, $ at the end and case-insensitivity ((?i) at the very beginning).
+ * <p>
+ * Patterns out of the subset are marked as unsupported (they have to be checked by {@link java.util.regex}),
+ * the result of {@link #scan(CharSequence, long[])} has the same meaning as {@link java.util.regex.Matcher#find()}
+ * for supported ones. Compiled DFA is immutable, so it can be shared between threads.
+ */
+public class MultiPatternDfa {
+	public static final int MAX_DFA_STATES = 4096;
+	private static final int MAX_NFA_STATES = 4096;
+
+	// ASCII chars plus one column for all the rest chars
+	private static final int COLUMNS = 129;
+	private static final int OTHER_COLUMN = 128;
+
+	private final BitSet supported;
+	private final int stateCount;
+	private final int[] transitions;
+	// patterns matched on reaching the state (null if none) and at the end of text (for ones having '$')
+	private final long[][] outputs;
+	private final long[][] endOutputs;
+	// the state having no NFA states (there is no such state if there are unanchored patterns)
+	private final int deadState;
+
+	private MultiPatternDfa(
+			BitSet supported,
+			int stateCount,
+			int[] transitions,
+			long[][] outputs,
+			long[][] endOutputs,
+			int deadState
+	) {
+		this.supported = supported;
+		this.stateCount = stateCount;
+		this.transitions = transitions;
+		this.outputs = outputs;
+		this.endOutputs = endOutputs;
+		this.deadState = deadState;
+	}
+
+	/**
+	 * Compile patterns into DFA (patterns are referenced by their indexes in the list).
+	 *
+	 * @return DFA or null if no pattern is supported (or DFA is too big)
+	 */
+	public static MultiPatternDfa compile(List<Pattern> patterns) {
+		// parse supported patterns into linear NFAs
+		final BitSet supported = new BitSet();
+		final List<Nfa> nfas = new ArrayList<>();
+		int nfaStates = 0;
+		for (int i = 0; i < patterns.size(); i++) {
+			final Nfa nfa = Nfa.parse(patterns.get(i), i, nfaStates);
+			if ((nfa == null) || (nfaStates + nfa.atoms.size() + 1 > MAX_NFA_STATES)) {
+				continue;
+			}
+			supported.set(i);
+			nfas.add(nfa);
+			nfaStates += nfa.atoms.size() + 1;
+		}
+		if (nfas.isEmpty()) {
+			return null;
+		}
+
+		// initial NFA states: all patterns at the first char, unanchored ones at every char
+		final BitSet initial = new BitSet();
+		final BitSet restarts = new BitSet();
+		for (Nfa nfa : nfas) {
+			nfa.addClosure(initial, 0);
+			if (!nfa.anchoredStart) {
+				nfa.addClosure(restarts, 0);
+			}
+		}
+
+		// subset construction (the state #0 is the initial one)
+		final Map<BitSet, Integer> stateIds = new HashMap<>();
+		final List<BitSet> states = new ArrayList<>();
+		final ArrayDeque<Integer> queue = new ArrayDeque<>();
+		stateIds.put(initial, 0);
+		states.add(initial);
+		queue.add(0);
+		int[] transitions = new int[COLUMNS * 64];
+		while (!queue.isEmpty()) {
+			final int stateId = queue.poll();
+			final BitSet state = states.get(stateId);
+			for (int column = 0; column < COLUMNS; column++) {
+				final BitSet next = (BitSet) restarts.clone();
+				for (Nfa nfa : nfas) {
+					nfa.step(state, column, next);
+				}
+				Integer nextId = stateIds.get(next);
+				if (nextId == null) {
+					if (states.size() >= MAX_DFA_STATES) {
+						return null;
+					}
+					nextId = states.size();
+					stateIds.put(next, nextId);
+					states.add(next);
+					queue.add(nextId);
+				}
+				if ((stateId + 1) * COLUMNS > transitions.length) {
+					transitions = Arrays.copyOf(transitions, transitions.length * 2);
+				}
+				transitions[stateId * COLUMNS + column] = nextId;
+			}
+		}
+
+		// outputs of states
+		final int words = (patterns.size() + 63) >>> 6;
+		final long[][] outputs = new long[states.size()][];
+		final long[][] endOutputs = new long[states.size()][];
+		for (int i = 0; i < states.size(); i++) {
+			for (Nfa nfa : nfas) {
+				if (states.get(i).get(nfa.offset + nfa.atoms.size())) {
+					final long[][] target = nfa.anchoredEnd ? endOutputs : outputs;
+					if (target[i] == null) {
+						target[i] = new long[words];
+					}
+					target[i][nfa.patternIdx >>> 6] |= 1L << nfa.patternIdx;
+				}
+			}
+		}
+		final Integer deadState = stateIds.get(new BitSet());
+		return new MultiPatternDfa(supported, states.size(), Arrays.copyOf(transitions, states.size() * COLUMNS),
+				outputs, endOutputs, (deadState != null) ? deadState : -1);
+	}
+
+	public boolean isSupported(int patternIdx) {
+		return supported.get(patternIdx);
+	}
+
+	public int getSupportedCount() {
+		return supported.cardinality();
+	}
+
+	public int getStateCount() {
+		return stateCount;
+	}
+
+	/**
+	 * Scan the text and mark found patterns (by indexes) in the bitmap (it's cleared before scanning),
+	 * the bitmap may be longer than needed for the patterns of this DFA (e.g. it's shared by several DFAs).
+	 *
+	 * @return true if any pattern is found
+	 */
+	public boolean scan(CharSequence text, long[] found) {
+		Arrays.fill(found, 0);
+		boolean any = false;
+		int state = 0;
+		if (outputs[state] != null) {
+			any = orInto(found, outputs[state]);
+		}
+		for (int i = 0, len = text.length(); i < len; i++) {
+			final char c = text.charAt(i);
+			state = transitions[state * COLUMNS + ((c < OTHER_COLUMN) ? c : OTHER_COLUMN)];
+			if (outputs[state] != null) {
+				any |= orInto(found, outputs[state]);
+			}
+			// nothing to look for anymore (all patterns are anchored to the start and failed)
+			if (state == deadState) {
+				return any;
+			}
+		}
+		if (endOutputs[state] != null) {
+			any |= orInto(found, endOutputs[state]);
+		}
+		return any;
+	}
+
+	public static boolean isFound(long[] found, int patternIdx) {
+		return (found[patternIdx >>> 6] & (1L << patternIdx)) != 0;
+	}
+
+	// src has words for the patterns of this DFA only
+	private static boolean orInto(long[] dst, long[] src) {
+		for (int i = 0; i < src.length; i++) {
+			dst[i] |= src[i];
+		}
+		return true;
+	}
+
+	// linear NFA of one pattern: state i is "i atoms matched", the last state is the accepting one
+	private static class Nfa {
+		final int patternIdx;
+		final int offset;
+		final boolean anchoredStart;
+		final boolean anchoredEnd;
+		final List<Atom> atoms;
+
+		Nfa(int patternIdx, int offset, boolean anchoredStart, boolean anchoredEnd, List<Atom> atoms) {
+			this.patternIdx = patternIdx;
+			this.offset = offset;
+			this.anchoredStart = anchoredStart;
+			this.anchoredEnd = anchoredEnd;
+			this.atoms = atoms;
+		}
+
+		void addClosure(BitSet set, int state) {
+			set.set(offset + state);
+			while ((state < atoms.size()) && (atoms.get(state).optional || atoms.get(state).loop)) {
+				set.set(offset + ++state);
+			}
+		}
+
+		void step(BitSet from, int column, BitSet to) {
+			for (int i = from.nextSetBit(offset); (i >= 0) && (i < offset + atoms.size()); i = from.nextSetBit(i + 1)) {
+				final Atom atom = atoms.get(i - offset);
+				if (atom.chars.get(column)) {
+					addClosure(to, atom.loop ? (i - offset) : (i - offset + 1));
+				}
+			}
+		}
+
+		static Nfa parse(Pattern pattern, int patternIdx, int offset) {
+			// only (ASCII) case-insensitivity is supported (as the flag or as the leading inline flag)
+			if ((pattern.flags() & ~Pattern.CASE_INSENSITIVE) != 0) {
+				return null;
+			}
+			String regex = pattern.pattern();
+			boolean caseInsensitive = (pattern.flags() & Pattern.CASE_INSENSITIVE) != 0;
+			if (regex.startsWith("(?i)")) {
+				caseInsensitive = true;
+				regex = regex.substring(4);
+			}
+			int pos = 0;
+			int end = regex.length();
+			final boolean anchoredStart = regex.startsWith("^");
+			if (anchoredStart) {
+				pos++;
+			}
+			final boolean anchoredEnd = (end > pos) && (regex.charAt(end - 1) == '$') && !isEscaped(regex, end - 1);
+			if (anchoredEnd) {
+				end--;
+			}
+
+			final List<Atom> atoms = new ArrayList<>();
+			while (pos < end) {
+				// atom
+				final BitSet chars = new BitSet(COLUMNS);
+				final char c = regex.charAt(pos);
+				if (c == '.') {
+					chars.set(0, COLUMNS);
+					chars.clear('\n');
+					chars.clear('\r');
+					pos++;
+				}
+				else if (c == '[') {
+					pos = parseClass(regex, pos, end, chars);
+				}
+				else if (c == '\\') {
+					pos = parseEscape(regex, pos, end, chars);
+				}
+				else if ("()|^$?*+{}]".indexOf(c) >= 0) {
+					return null;
+				}
+				else {
+					if (c >= OTHER_COLUMN) {
+						return null;
+					}
+					chars.set(c);
+					pos++;
+				}
+				if (pos < 0) {
+					return null;
+				}
+				if (caseInsensitive) {
+					for (char l = 'a'; l <= 'z'; l++) {
+						if (chars.get(l) || chars.get(Character.toUpperCase(l))) {
+							chars.set(l);
+							chars.set(Character.toUpperCase(l));
+						}
+					}
+				}
+
+				// quantifier
+				int min = 1, max = 1;
+				if (pos < end) {
+					final char q = regex.charAt(pos);
+					if ((q == '?') || (q == '*') || (q == '+')) {
+						min = (q == '+') ? 1 : 0;
+						max = (q == '?') ? 1 : -1;
+						pos++;
+					}
+					else if (q == '{') {
+						final int close = regex.indexOf('}', pos);
+						if ((close < 0) || (close >= end)) {
+							return null;
+						}
+						final String[] bounds = regex.substring(pos + 1, close).split(",", -1);
+						try {
+							min = Integer.parseInt(bounds[0]);
+							max = (bounds.length == 1) ? min
+									: (bounds[1].isEmpty() ? -1 : Integer.parseInt(bounds[1]));
+						}
+						catch (NumberFormatException e) {
+							return null;
+						}
+						if ((bounds.length > 2) || ((max >= 0) && (min > max))) {
+							return null;
+						}
+						pos = close + 1;
+					}
+					// lazy/possessive quantifiers aren't supported (they don't change "find" result, but keep it simple)
+					if ((pos < end) && ("?*+{".indexOf(regex.charAt(pos)) >= 0)) {
+						return null;
+					}
+				}
+
+				// expand: min mandatory copies, then optional copies (or one looped copy)
+				if (((max < 0) ? min + 1 : max) + atoms.size() > MAX_NFA_STATES) {
+					return null;
+				}
+				for (int i = 0; i < min; i++) {
+					atoms.add(new Atom(chars, false, false));
+				}
+				if (max < 0) {
+					atoms.add(new Atom(chars, false, true));
+				}
+				for (int i = min; i < max; i++) {
+					atoms.add(new Atom(chars, true, false));
+				}
+			}
+			return new Nfa(patternIdx, offset, anchoredStart, anchoredEnd, atoms);
+		}
+
+		// parse [...] or [^...] (returns the position after the class or -1 if it isn't supported)
+		private static int parseClass(String regex, int pos, int end, BitSet chars) {
+			pos++;
+			final boolean negated = (pos < end) && (regex.charAt(pos) == '^');
+			if (negated) {
+				pos++;
+			}
+			final BitSet set = new BitSet(COLUMNS);
+			boolean first = true;
+			while (pos < end) {
+				char c = regex.charAt(pos);
+				if ((c == ']') && !first) {
+					if (negated) {
+						set.flip(0, COLUMNS);
+						// non-ASCII column covers chars which can't be in the class (only ASCII is supported)
+						set.set(OTHER_COLUMN);
+					}
+					chars.or(set);
+					return pos + 1;
+				}
+				first = false;
+				if ((c == '[') || (c == '&')) {
+					return -1;
+				}
+				if (c == '\\') {
+					final BitSet escaped = new BitSet(COLUMNS);
+					pos = parseEscape(regex, pos, end, escaped);
+					if (pos < 0) {
+						return -1;
+					}
+					if (escaped.cardinality() != 1) {
+						set.or(escaped);
+						continue;
+					}
+					c = (char) escaped.nextSetBit(0);
+				}
+				else {
+					pos++;
+				}
+				if (c >= OTHER_COLUMN) {
+					return -1;
+				}
+
+				// range?
+				if ((pos + 1 < end) && (regex.charAt(pos) == '-') && (regex.charAt(pos + 1) != ']')) {
+					final char to = regex.charAt(pos + 1);
+					if ((to == '\\') || (to == '[') || (to >= OTHER_COLUMN) || (to < c)) {
+						return -1;
+					}
+					set.set(c, to + 1);
+					pos += 2;
+				}
+				else {
+					set.set(c);
+				}
+			}
+			return -1;
+		}
+
+		// parse \x (returns the position after the escape or -1 if it isn't supported)
+		private static int parseEscape(String regex, int pos, int end, BitSet chars) {
+			if (pos + 1 >= end) {
+				return -1;
+			}
+			final char c = regex.charAt(pos + 1);
+			switch (c) {
+				case 'd':
+				case 'D':
+				case 'w':
+				case 'W': {
+					final BitSet set = new BitSet(COLUMNS);
+					set.set('0', '9' + 1);
+					if ((c == 'w') || (c == 'W')) {
+						set.set('a', 'z' + 1);
+						set.set('A', 'Z' + 1);
+						set.set('_');
+					}
+					if (Character.isUpperCase(c)) {
+						set.flip(0, COLUMNS);
+					}
+					chars.or(set);
+					return pos + 2;
+				}
+
+				default: {
+					// escaped non-alphanumeric ASCII chars are literals
+					if ((c < OTHER_COLUMN) && !Character.isLetterOrDigit(c)) {
+						chars.set(c);
+						return pos + 2;
+					}
+					return -1;
+				}
+			}
+		}
+
+		private static boolean isEscaped(String regex, int pos) {
+			int backslashes = 0;
+			while ((pos - backslashes > 0) && (regex.charAt(pos - backslashes - 1) == '\\')) {
+				backslashes++;
+			}
+			return (backslashes & 0x01) != 0;
+		}
+	}
+
+	private static class Atom {
+		final BitSet chars;
+		final boolean optional;
+		final boolean loop;
+
+		Atom(BitSet chars, boolean optional, boolean loop) {
+			this.chars = chars;
+			this.optional = optional;
+			this.loop = loop;
+		}
+	}
+}
@@ -0,0 +1,296 @@
+package ru.dzhsoft.blockchain.addressminer.util;
+
+import java.util.Arrays;
+
+/**
+ * Hex regex (a restricted subset) compiled to check nibbles of bytes directly, i.e. without hex formatting:
+ * anchors (^ at the start, $ at the end), hex chars, '.', \d, classes ([...], [^...]), single-char groups
+ * and backreferences to them (e.g. "^(.)\1{7,}"), greedy quantifiers (?, *, +, {n}, {n,}, {n,m}).
+ * <p>
+ * Case of letters is ignored (a nibble matches if either its lower or upper case char matches), so the result
+ * is a superset of the regex matching for any case of hex letters (e.g. by checksum): candidates have to be
+ * rechecked by the regex itself.
+ */
+public class NibblePattern {
+	private static final String HEX_CHARS_LOWER = "0123456789abcdef";
+	private static final String HEX_CHARS_UPPER = "0123456789ABCDEF";
+	private static final int ALL_NIBBLES = 0xFFFF;
+	private static final int MAX_GROUPS = 9;
+
+	private final String pattern;
+	private final boolean anchoredStart;
+	private final boolean anchoredEnd;
+	// per node: allowed nibbles (bitmap), backreference group (or 0), capture group (or 0), quantifier bounds
+	private final int[] masks;
+	private final int[] backrefs;
+	private final int[] captures;
+	private final int[] mins;
+	private final int[] maxs;
+
+	private NibblePattern(String pattern, boolean anchoredStart, boolean anchoredEnd, int[][] nodes, int count) {
+		this.pattern = pattern;
+		this.anchoredStart = anchoredStart;
+		this.anchoredEnd = anchoredEnd;
+		this.masks = Arrays.copyOf(nodes[0], count);
+		this.backrefs = Arrays.copyOf(nodes[1], count);
+		this.captures = Arrays.copyOf(nodes[2], count);
+		this.mins = Arrays.copyOf(nodes[3], count);
+		this.maxs = Arrays.copyOf(nodes[4], count);
+	}
+
+	/**
+	 * Compile the regex (if it's in the supported subset).
+	 *
+	 * @return compiled pattern or null if the regex isn't supported
+	 */
+	public static NibblePattern compile(String regex) {
+		final int[][] nodes = new int[5][regex.length()];
+		int count = 0;
+		int groups = 0;
+		int pos = 0;
+		final boolean anchoredStart = regex.startsWith("^");
+		if (anchoredStart) {
+			pos++;
+		}
+		int end = regex.length();
+		final boolean anchoredEnd = (end > pos) && (regex.charAt(end - 1) == '$') && !isEscaped(regex, end - 1);
+		if (anchoredEnd) {
+			end--;
+		}
+
+		while (pos < end) {
+			int mask = 0;
+			int backref = 0;
+			int capture = 0;
+			final char c = regex.charAt(pos);
+			if (c == '(') {
+				// single-char capturing group
+				if ((++groups > MAX_GROUPS) || (pos + 1 >= end)) {
+					return null;
+				}
+				final int close = parseAtomEnd(regex, pos + 1, end);
+				if ((close < 0) || (close >= end) || (regex.charAt(close) != ')')) {
+					return null;
+				}
+				mask = parseAtom(regex, pos + 1, close);
+				capture = groups;
+				pos = close + 1;
+			}
+			else if ((c == '\\') && (pos + 1 < end) && (regex.charAt(pos + 1) >= '1') && (regex.charAt(pos + 1) <= '9')) {
+				backref = regex.charAt(pos + 1) - '0';
+				if (backref > groups) {
+					return null;
+				}
+				mask = ALL_NIBBLES;
+				pos += 2;
+			}
+			else {
+				final int atomEnd = parseAtomEnd(regex, pos, end);
+				if (atomEnd < 0) {
+					return null;
+				}
+				mask = parseAtom(regex, pos, atomEnd);
+				pos = atomEnd;
+			}
+			if (mask == 0) {
+				return null;
+			}
+
+			// quantifier (groups can't be quantified: the captured nibble must be unambiguous)
+			int min = 1, max = 1;
+			if (pos < end) {
+				final char q = regex.charAt(pos);
+				if ((q == '?') || (q == '*') || (q == '+')) {
+					min = (q == '+') ? 1 : 0;
+					max = (q == '?') ? 1 : Integer.MAX_VALUE;
+					pos++;
+				}
+				else if (q == '{') {
+					final int close = regex.indexOf('}', pos);
+					if ((close < 0) || (close >= end)) {
+						return null;
+					}
+					final String[] bounds = regex.substring(pos + 1, close).split(",", -1);
+					try {
+						min = Integer.parseInt(bounds[0]);
+						max = (bounds.length == 1) ? min
+								: (bounds[1].isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(bounds[1]));
+					}
+					catch (NumberFormatException e) {
+						return null;
+					}
+					if ((bounds.length > 2) || (min > max)) {
+						return null;
+					}
+					pos = close + 1;
+				}
+				if ((min != 1 || max != 1) && (capture != 0)) {
+					return null;
+				}
+				// lazy/possessive quantifiers aren't supported
+				if ((pos < end) && ((regex.charAt(pos) == '?') || (regex.charAt(pos) == '+')
+						|| (regex.charAt(pos) == '*') || (regex.charAt(pos) == '{'))) {
+					return null;
+				}
+			}
+
+			nodes[0][count] = mask;
+			nodes[1][count] = backref;
+			nodes[2][count] = capture;
+			nodes[3][count] = min;
+			nodes[4][count] = max;
+			count++;
+		}
+		return new NibblePattern(regex, anchoredStart, anchoredEnd, nodes, count);
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * Check whether the pattern can be found in hex of the bytes (the first nibbleCount nibbles).
+	 */
+	public boolean find(byte[] bytes, int nibbleCount) {
+		final int lastStart = anchoredStart ? 0 : nibbleCount;
+		for (int start = 0; start <= lastStart; start++) {
+			if (matchAt(bytes, nibbleCount, 0, start, 0)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean matchAt(byte[] bytes, int nibbleCount, int node, int pos, long captured) {
+		if (node == masks.length) {
+			return !anchoredEnd || (pos == nibbleCount);
+		}
+
+		// greedy: take as many nibbles as possible, then backtrack
+		final int limit = (int) Math.min((long) pos + maxs[node], nibbleCount);
+		final int backref = backrefs[node];
+		int next = pos;
+		if (backref != 0) {
+			final int expected = (int) (captured >>> ((backref - 1) * 4)) & 0x0F;
+			while ((next < limit) && (getNibble(bytes, next) == expected)) {
+				next++;
+			}
+		}
+		else {
+			final int mask = masks[node];
+			while ((next < limit) && ((mask & (1 << getNibble(bytes, next))) != 0)) {
+				next++;
+			}
+		}
+		for (; next >= pos + mins[node]; next--) {
+			long nextCaptured = captured;
+			if (captures[node] != 0) {
+				final int shift = (captures[node] - 1) * 4;
+				nextCaptured = (captured & ~(0x0FL << shift)) | ((long) getNibble(bytes, pos) << shift);
+			}
+			if (matchAt(bytes, nibbleCount, node + 1, next, nextCaptured)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int getNibble(byte[] bytes, int idx) {
+		return (bytes[idx >>> 1] >>> (((idx + 1) & 0x01) * 4)) & 0x0F;
+	}
+
+	// get the end of single-char atom: hex char, '.', \d or a class (-1 if it isn't supported)
+	private static int parseAtomEnd(String regex, int pos, int end) {
+		final char c = regex.charAt(pos);
+		if (c == '[') {
+			for (int i = pos + 1; i < end; i++) {
+				final char cc = regex.charAt(i);
+				if (cc == '\\' || cc == '[' || cc == '&') {
+					return -1;
+				}
+				if (cc == ']' && i > pos + 1) {
+					return i + 1;
+				}
+			}
+			return -1;
+		}
+		if (c == '\\') {
+			return ((pos + 1 < end) && (regex.charAt(pos + 1) == 'd')) ? (pos + 2) : -1;
+		}
+		return ((c == '.') || (Character.digit(c, 16) >= 0)) ? (pos + 1) : -1;
+	}
+
+	// get allowed nibbles of single-char atom (a nibble is allowed if its lower or upper case char is allowed)
+	private static int parseAtom(String regex, int pos, int end) {
+		final char c = regex.charAt(pos);
+		if (c == '.') {
+			return ALL_NIBBLES;
+		}
+		if (c == '\\') {
+			return 0x03FF;
+		}
+		if (c != '[') {
+			return toMask(c, c);
+		}
+
+		// class: chars & ranges, maybe negated
+		final boolean negated = regex.charAt(pos + 1) == '^';
+		int mask = 0;
+		for (int i = pos + (negated ? 2 : 1); i < end - 1; i++) {
+			final char from = regex.charAt(i);
+			char to = from;
+			if ((i + 2 < end - 1) && (regex.charAt(i + 1) == '-')) {
+				to = regex.charAt(i + 2);
+				i += 2;
+			}
+			mask |= toMask(from, to);
+		}
+		if (!negated) {
+			return mask;
+		}
+		// negation: a nibble is allowed if any of its chars isn't in the class
+		int result = 0;
+		for (int n = 0; n < 16; n++) {
+			if (!inClass(regex, pos + 2, end - 1, HEX_CHARS_LOWER.charAt(n))
+					|| !inClass(regex, pos + 2, end - 1, HEX_CHARS_UPPER.charAt(n))) {
+				result |= 1 << n;
+			}
+		}
+		return result;
+	}
+
+	private static boolean inClass(String regex, int from, int to, char c) {
+		for (int i = from; i < to; i++) {
+			char hi = regex.charAt(i);
+			final char lo = hi;
+			if ((i + 2 < to) && (regex.charAt(i + 1) == '-')) {
+				hi = regex.charAt(i + 2);
+				i += 2;
+			}
+			if ((c >= lo) && (c <= hi)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int toMask(char from, char to) {
+		int mask = 0;
+		for (int n = 0; n < 16; n++) {
+			final char lower = HEX_CHARS_LOWER.charAt(n);
+			final char upper = HEX_CHARS_UPPER.charAt(n);
+			if (((lower >= from) && (lower <= to)) || ((upper >= from) && (upper <= to))) {
+				mask |= 1 << n;
+			}
+		}
+		return mask;
+	}
+
+	private static boolean isEscaped(String regex, int pos) {
+		int backslashes = 0;
+		while ((pos - backslashes > 0) && (regex.charAt(pos - backslashes - 1) == '\\')) {
+			backslashes++;
+		}
+		return (backslashes & 0x01) != 0;
+	}
+}
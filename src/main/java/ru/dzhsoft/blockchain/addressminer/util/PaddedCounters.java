@@ -0,0 +1,37 @@
+package ru.dzhsoft.blockchain.addressminer.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters of a single writer thread readable by other threads: plain increments are published by ordered stores
+ * (no atomic read-modify-write), and the counters are padded, so counters of different writers never share
+ * a cache line.
+ */
+public class PaddedCounters {
+	// 128 bytes before & after the counters (adjacent cache lines are prefetched in pairs)
+	private static final int PADDING = 16;
+
+	private final AtomicLongArray values;
+	private final int count;
+
+	public PaddedCounters(int count) {
+		this.values = new AtomicLongArray(PADDING + count + PADDING);
+		this.count = count;
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Add the delta to the counter (by the writer thread only).
+	 */
+	public void add(int idx, long delta) {
+		final int i = PADDING + idx;
+		values.lazySet(i, values.get(i) + delta);
+	}
+
+	public long get(int idx) {
+		return values.get(PADDING + idx);
+	}
+}
@@ -0,0 +1,207 @@
+package ru.dzhsoft.blockchain.addressminer.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Mandatory literal of a regex (the longest run of plain chars every match must contain, maybe anchored
+ * to the start or to the end), so texts without it can be rejected by a plain chars comparison before
+ * running {@link java.util.regex.Matcher#find()}.
+ */
+public class RegexLiteral {
+	private final char[] literal;
+	private final boolean anchoredStart;
+	private final boolean anchoredEnd;
+
+	private RegexLiteral(String literal, boolean anchoredStart, boolean anchoredEnd) {
+		this.literal = literal.toCharArray();
+		this.anchoredStart = anchoredStart;
+		this.anchoredEnd = anchoredEnd;
+	}
+
+	/**
+	 * Extract the mandatory literal of the regex: only top-level plain chars are taken into account
+	 * (anything unclear, e.g. alternation or flags, means no literal at all).
+	 *
+	 * @return the literal or null if there is no such one
+	 */
+	public static RegexLiteral extract(Pattern pattern) {
+		final String regex = pattern.pattern();
+		if ((pattern.flags() != 0) || regex.contains("(?") || regex.contains("\\Q")) {
+			return null;
+		}
+
+		String best = "";
+		boolean bestAnchoredStart = false, bestAnchoredEnd = false;
+		final StringBuilder run = new StringBuilder();
+		boolean runAnchoredStart = false;
+		int depth = 0;
+		boolean inClass = false;
+		for (int pos = 0; pos < regex.length(); pos++) {
+			char c = regex.charAt(pos);
+			boolean plain = false;
+			if (inClass) {
+				// nested classes & intersections ([a-z&&[^aeiou]]) aren't supported: the class end is unclear
+				if ((c == '[') || ((c == '&') && (pos + 1 < regex.length()) && (regex.charAt(pos + 1) == '&'))) {
+					return null;
+				}
+				if (c == '\\') {
+					pos++;
+				}
+				else if (c == ']') {
+					inClass = false;
+				}
+				continue;
+			}
+			switch (c) {
+				case '|':
+					if (depth == 0) {
+						return null;
+					}
+					break;
+
+				case '(':
+					depth++;
+					break;
+
+				case ')':
+					depth--;
+					break;
+
+				case '[':
+					inClass = true;
+					// "[]...]" and "[^]...]" have ']' as a char of the class
+					if ((pos + 1 < regex.length()) && (regex.charAt(pos + 1) == '^')) {
+						pos++;
+					}
+					if ((pos + 1 < regex.length()) && (regex.charAt(pos + 1) == ']')) {
+						pos++;
+					}
+					break;
+
+				case '^':
+					if ((pos == 0) && (depth == 0)) {
+						runAnchoredStart = true;
+						continue;
+					}
+					break;
+
+				case '\\':
+					// escaped non-alphanumeric chars are plain ones, escapes having arguments aren't supported
+					if (pos + 1 >= regex.length()) {
+						return null;
+					}
+					c = regex.charAt(++pos);
+					if ("pPxuckN0".indexOf(c) >= 0) {
+						return null;
+					}
+					plain = !Character.isLetterOrDigit(c);
+					break;
+
+				case '{':
+					// skip bounds of the quantifier
+					pos = regex.indexOf('}', pos);
+					if (pos < 0) {
+						return null;
+					}
+					break;
+
+				case '.': case '$': case '?': case '*': case '+':
+					break;
+
+				default:
+					plain = true;
+			}
+
+			// quantified char is mandatory only for {n,...} (n > 0) or +, and the run ends anyway
+			final int next = pos + 1;
+			final char q = (next < regex.length()) ? regex.charAt(next) : 0;
+			final boolean quantified = (q == '?') || (q == '*') || (q == '+') || (q == '{');
+			final boolean mandatory = (q == '+')
+					|| ((q == '{') && (next + 1 < regex.length()) && (regex.charAt(next + 1) != '0'));
+			if (plain && (depth == 0) && (!quantified || mandatory)) {
+				run.append(c);
+			}
+			if (!plain || (depth != 0) || quantified) {
+				// the run ends: '$' right after it means anchoring to the end
+				final boolean anchoredEnd = (c == '$') && (pos == regex.length() - 1) && (depth == 0) && !quantified;
+				if (run.length() > best.length()) {
+					best = run.toString();
+					bestAnchoredStart = runAnchoredStart;
+					bestAnchoredEnd = anchoredEnd && plainRunEndsAt(regex, pos);
+				}
+				run.setLength(0);
+				runAnchoredStart = false;
+			}
+		}
+		if (run.length() > best.length()) {
+			best = run.toString();
+			bestAnchoredStart = runAnchoredStart;
+			bestAnchoredEnd = false;
+		}
+		return best.isEmpty() ? null : new RegexLiteral(best, bestAnchoredStart, bestAnchoredEnd);
+	}
+
+	// the run is anchored to the end only if it's right before '$' (i.e. the previous char is a plain one)
+	private static boolean plainRunEndsAt(String regex, int dollarPos) {
+		return (dollarPos > 0) && "?*+}.])".indexOf(regex.charAt(dollarPos - 1)) < 0;
+	}
+
+	public String getLiteral() {
+		return new String(literal);
+	}
+
+	public boolean isAnchoredStart() {
+		return anchoredStart;
+	}
+
+	public boolean isAnchoredEnd() {
+		return anchoredEnd;
+	}
+
+	/**
+	 * Check whether the text contains the literal (at the start/end if it's anchored).
+	 */
+	public boolean isPresentIn(CharSequence text) {
+		if (text instanceof ReusableCharSequence) {
+			return isPresentIn(((ReusableCharSequence) text).getBuffer(), text.length());
+		}
+		final int last = text.length() - literal.length;
+		final int from = anchoredEnd ? last : 0;
+		final int to = anchoredStart ? Math.min(0, last) : last;
+		for (int offset = Math.max(from, 0); offset <= to; offset++) {
+			int i = 0;
+			while ((i < literal.length) && (text.charAt(offset + i) == literal[i])) {
+				i++;
+			}
+			if (i == literal.length) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isPresentIn(char[] text, int len) {
+		final int last = len - literal.length;
+		final int from = anchoredEnd ? last : 0;
+		final int to = anchoredStart ? Math.min(0, last) : last;
+		final char first = literal[0];
+		for (int offset = Math.max(from, 0); offset <= to; offset++) {
+			if (text[offset] != first) {
+				continue;
+			}
+			int i = 1;
+			while ((i < literal.length) && (text[offset + i] == literal[i])) {
+				i++;
+			}
+			if (i == literal.length) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return (anchoredStart ? "^" : "") + new String(literal) + (anchoredEnd ? "$" : "");
+	}
+}
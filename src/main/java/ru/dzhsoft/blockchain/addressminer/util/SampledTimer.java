@@ -0,0 +1,63 @@
+package ru.dzhsoft.blockchain.addressminer.util;
+
+/**
+ * Timer of sampled iterations only: one iteration in N (on average) is timed, other ones get zero times,
+ * so stage shares are estimated without calling {@link System#nanoTime()} for each stage of each iteration.
+ * <p>
+ * Intervals between sampled iterations are random (uniform in [1, 2N-1]), so periodic work (e.g. restart
+ * of a subsequence every M iterations) isn't aliased with sampling.
+ */
+public class SampledTimer {
+	private final int period;
+	private long state;
+	private int countdown;
+	private boolean sampled;
+
+	/**
+	 * @param period mean interval between sampled iterations (1 means all iterations, 0 means none)
+	 */
+	public SampledTimer(int period, long seed) {
+		this.period = period;
+		this.state = (seed == 0) ? 0x9E3779B97F4A7C15L : seed;
+		this.countdown = (period > 0) ? nextInterval() : 0;
+	}
+
+	public int getPeriod() {
+		return period;
+	}
+
+	/**
+	 * Start next iteration.
+	 *
+	 * @return true if the iteration is sampled (i.e. it's timed)
+	 */
+	public boolean nextIteration() {
+		sampled = (period > 0) && (--countdown == 0);
+		if (sampled) {
+			countdown = nextInterval();
+		}
+		return sampled;
+	}
+
+	public boolean isSampled() {
+		return sampled;
+	}
+
+	/**
+	 * Get current time (zero unless the iteration is sampled).
+	 */
+	public long getTimeNanos() {
+		return sampled ? System.nanoTime() : 0;
+	}
+
+	private int nextInterval() {
+		if (period == 1) {
+			return 1;
+		}
+		// xorshift64
+		state ^= state << 13;
+		state ^= state >>> 7;
+		state ^= state << 17;
+		return 1 + (int) ((state >>> 1) % (2L * period - 1));
+	}
+}
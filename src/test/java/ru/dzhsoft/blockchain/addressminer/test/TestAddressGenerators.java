@@ -0,0 +1,259 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.Constants;
+import ru.dzhsoft.blockchain.addressminer.RulesConfig;
+import ru.dzhsoft.blockchain.addressminer.addrgen.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestAddressGenerators {
+	@Test
+	public void testKnownAddresses() {
+		final ECPointData ecp = new ECPointData(Constants.CURVE.getG());
+		final byte[] exponent = new byte[32];
+		exponent[31] = 0x01;
+		assertTrue(ecp.update(exponent));
+
+		final BTCLikeAddressHash160Generator btcHashGen = new BTCLikeAddressHash160Generator();
+		final ETHLikeAddressHash160Generator ethHashGen = new ETHLikeAddressHash160Generator();
+		assertEquals("1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMH", new BTCAddressGenerator(
+				"BTC", Constants.BTC_P2PKH_VERSION, btcHashGen, true).generateAddress(ecp).toString());
+		assertEquals("1BgGZ9tcN4rm9KBzDn7KprQz87SYz2GmaF", new BTCAddressGenerator(
+				"BTC", Constants.BTC_P2PKH_VERSION, btcHashGen, false).generateAddress(ecp).toString());
+		assertEquals("TMVQGm1qAQYVdetCeGRRkTWYYrLXuHK2HC", new BTCAddressGenerator(
+				"TRX", Constants.TRX_VERSION, ethHashGen, true).generateAddress(ecp).toString());
+		assertEquals("TMVQGm1qAQYVdetCeGRRkTWYYrLXpkKJ8f", new BTCAddressGenerator(
+				"TRX", Constants.TRX_VERSION, ethHashGen, false).generateAddress(ecp).toString());
+		assertEquals("QXHFfTBKYXjaaTH1e7Rox8CcdNPGHVhM59", new BTCAddressGenerator(
+				"QTUM", Constants.QTUM_VERSION, btcHashGen, true).generateAddress(ecp).toString());
+		assertEquals("7E5F4552091A69125d5DfCb7b8C2659029395Bdf",
+				new ETHAddressGenerator("ETH", ethHashGen, true).generateAddress(ecp).toString());
+		assertEquals("7e5f4552091a69125d5dfcb7b8c2659029395bdf",
+				new ETHAddressGenerator("ETH", ethHashGen, false).generateAddress(ecp).toString());
+	}
+
+	@Test
+	public void testGeneratorWithCheckSum() {
+		final ECPointData ecp = new ECPointData(Constants.CURVE.getG());
+		final byte[] exponent = new byte[32];
+		exponent[31] = 0x01;
+		assertTrue(ecp.update(exponent));
+
+		// the generator with checksum is created once & it follows the hash160 generator
+		final ETHAddressGenerator ethGen = new ETHAddressGenerator("ETH", new ETHLikeAddressHash160Generator(), false);
+		final ETHAddressGenerator ethGenWithCheckSum = ethGen.getGeneratorWithCheckSum();
+		assertSame(ethGenWithCheckSum, ethGen.getGeneratorWithCheckSum());
+		final ETHLikeAddressHash160Generator sharedHashGen = new ETHLikeAddressHash160Generator();
+		ethGen.setAddressHash160Generator(sharedHashGen);
+		assertSame(ethGenWithCheckSum, ethGen.getGeneratorWithCheckSum());
+		assertSame(sharedHashGen, ethGenWithCheckSum.getAddressHash160Generator());
+		assertEquals("7E5F4552091A69125d5DfCb7b8C2659029395Bdf", ethGenWithCheckSum.generateAddress(ecp).toString());
+
+		final BTCAddressGenerator btcGen = new BTCAddressGenerator(
+				"BTC", Constants.BTC_P2PKH_VERSION, new BTCLikeAddressHash160Generator(), false);
+		assertSame(btcGen.getGeneratorWithCheckSum(), btcGen.getGeneratorWithCheckSum());
+		assertEquals("1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMH",
+				btcGen.getGeneratorWithCheckSum().generateAddress(ecp).toString());
+	}
+
+	@Test
+	public void testHash160Reuse() {
+		// points & their negations (same X, so only Y parity differs for BTC-like hash160)
+		final int count = 5;
+		final ECPointData[] ecps = new ECPointData[count];
+		final byte[] exponent = new byte[32];
+		for (int i = 0; i < count; i++) {
+			exponent[31] = (byte) ((i >> 1) + 1);
+			ecps[i] = new ECPointData(Constants.CURVE.getG(), 1, true, false);
+			assertTrue(ecps[i].update(exponent));
+			ecps[i].selectVariant(i & 0x01);
+		}
+
+		for (boolean btc : new boolean[] { true, false }) {
+			final AddressHash160Generator hashGen = btc
+					? new BTCLikeAddressHash160Generator() : new ETHLikeAddressHash160Generator();
+			for (int i : new int[] { 0, 0, 1, 0, 2, 3, 3, 4 }) {
+				// reused result & computed from scratch (by a fresh generator) must be the same
+				final byte[] reused = new byte[22];
+				final byte[] expected = new byte[22];
+				hashGen.evaluateHash160(reused, 2, ecps[i]);
+				(btc ? new BTCLikeAddressHash160Generator() : new ETHLikeAddressHash160Generator())
+						.evaluateHash160(expected, 2, ecps[i]);
+				assertArrayEquals(expected, reused);
+			}
+
+			// batch (one by one by default) gives the same results
+			final byte[][] batchHash160 = new byte[count][22];
+			hashGen.evaluateHash160(batchHash160, 2, ecps, count);
+			for (int i = 0; i < count; i++) {
+				final byte[] expected = new byte[22];
+				(btc ? new BTCLikeAddressHash160Generator() : new ETHLikeAddressHash160Generator())
+						.evaluateHash160(expected, 2, ecps[i]);
+				assertArrayEquals(expected, batchHash160[i]);
+			}
+		}
+	}
+
+	@Test
+	public void testHash160PrefixRanges() {
+		final ECPointData ecp = createWalkablePoint();
+		final byte[] hash160 = new byte[20];
+		final AddressHash160Generator hashGen = createFixedHash160Generator(hash160);
+		final Hash160PrefixFilter[] generators = {
+				new BTCAddressGenerator("BTC", Constants.BTC_P2PKH_VERSION, hashGen, true),
+				new BTCAddressGenerator("BTC", Constants.BTC_P2PKH_VERSION, hashGen, false),
+				new BTCAddressGenerator("TRX", Constants.TRX_VERSION, hashGen, true),
+				new BTCAddressGenerator("QTUM", Constants.QTUM_VERSION, hashGen, true),
+				new ETHAddressGenerator("ETH", hashGen, true),
+				new ETHAddressGenerator("ETH", hashGen, false),
+		};
+		final String[] prefixes = { "1", "11", "111", "1Lo", "1Love", "1z", "TL", "TLove", "QX", "7e5f", "7E5F", "00" };
+
+		final Random rnd = new Random(0x5EED);
+		int candidates = 0, falseCandidates = 0;
+		for (int i = 0; i < 500; i++) {
+			rnd.nextBytes(hash160);
+			for (int j = 0; j < (i % 4); j++) {
+				hash160[j] = 0;
+			}
+			for (Hash160PrefixFilter gen : generators) {
+				assertTrue(ecp.updateNextSubsequent()); // drop cached address
+				final String address = gen.generateAddress(ecp).toString();
+				final long hash160Prefix = gen.getHash160Prefix(ecp);
+
+				// the address must be in ranges for its own prefixes
+				for (int len = 1; len <= 8; len++) {
+					assertTrue(address, Hash160PrefixFilter.isInRanges(hash160Prefix,
+							gen.getHash160PrefixRanges(address.substring(0, len))));
+				}
+
+				// no false negatives (false positives are possible on the bounds only)
+				for (String prefix : prefixes) {
+					final boolean inRanges = Hash160PrefixFilter.isInRanges(hash160Prefix,
+							gen.getHash160PrefixRanges(prefix));
+					if (address.startsWith(prefix)) {
+						assertTrue(address + " / " + prefix, inRanges);
+					}
+					else if (inRanges) {
+						falseCandidates++;
+					}
+					candidates += inRanges ? 1 : 0;
+				}
+			}
+		}
+		assertTrue(candidates > 0);
+		assertTrue("false candidates: " + falseCandidates + " of " + candidates, falseCandidates * 100 < candidates);
+	}
+
+	@Test
+	public void testSuffixes() {
+		final ECPointData ecp = createWalkablePoint();
+		final byte[] hash160 = new byte[20];
+		final AddressHash160Generator hashGen = createFixedHash160Generator(hash160);
+		final SuffixFilter[] generators = {
+				new BTCAddressGenerator("BTC", Constants.BTC_P2PKH_VERSION, hashGen, true),
+				new BTCAddressGenerator("TRX", Constants.TRX_VERSION, hashGen, true),
+				new ETHAddressGenerator("ETH", hashGen, true),
+				new ETHAddressGenerator("ETH", hashGen, false),
+		};
+		final String[] suffixes = { "1", "z", "11", "Love", "xLove", "ove1z", "beef", "BEEF", "0O" };
+
+		final Random rnd = new Random(0x5EED);
+		for (int i = 0; i < 500; i++) {
+			rnd.nextBytes(hash160);
+			for (SuffixFilter gen : generators) {
+				assertTrue(ecp.updateNextSubsequent()); // drop cached address
+				final String address = gen.generateAddress(ecp).toString();
+
+				// the address must end with its own suffixes
+				for (int len = 1; len <= 8; len++) {
+					assertTrue(address, gen.mayEndWith(ecp, gen.compileSuffix(address.substring(address.length() - len))));
+				}
+
+				// no false negatives (and exact check for short Base58 suffixes)
+				for (String suffix : suffixes) {
+					final boolean candidate = gen.mayEndWith(ecp, gen.compileSuffix(suffix));
+					if (address.endsWith(suffix) || ((gen instanceof BTCAddressGenerator) && (suffix.length() <= 5))) {
+						assertEquals(address + " / " + suffix, address.endsWith(suffix), candidate);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPrefixesWithSuffixes() {
+		final ECPointData ecp = createWalkablePoint();
+		final byte[] hash160 = new byte[20];
+		final AddressHash160Generator hashGen = createFixedHash160Generator(hash160);
+		final List<AddressGenerator> generators = Arrays.asList(
+				new BTCAddressGenerator("BTC", Constants.BTC_P2PKH_VERSION, hashGen, true),
+				new BTCAddressGenerator("QTUM", Constants.QTUM_VERSION, hashGen, true),
+				new ETHAddressGenerator("ETH", hashGen, true));
+
+		final Random rnd = new Random(0x5EED);
+		for (int i = 0; i < 200; i++) {
+			rnd.nextBytes(hash160);
+			for (int genIdx = 0; genIdx < generators.size(); genIdx++) {
+				final AddressGenerator gen = generators.get(genIdx);
+				assertTrue(ecp.updateNextSubsequent()); // drop cached address
+				final String address = gen.generateAddress(ecp).toString();
+
+				// the address must be a candidate for its own prefix & suffix, not for a changed suffix
+				final String prefix = address.substring(0, 2);
+				final String suffix = address.substring(address.length() - 3);
+				final String otherSuffix = suffix.substring(0, 2) + ((suffix.charAt(2) == 'z') ? 'y' : 'z');
+				final RulesConfig.PrefixSuffixRule rule = newPrefixSuffixRule(prefix, suffix, generators);
+				assertTrue(address, rule.mayMatch(genIdx, gen, ecp) && rule.matches(address));
+				final RulesConfig.PrefixSuffixRule otherRule = newPrefixSuffixRule(prefix, otherSuffix, generators);
+				assertFalse(address, otherRule.matches(address));
+				if (gen instanceof BTCAddressGenerator) {
+					// short Base58 suffixes are checked exactly
+					assertFalse(address, otherRule.mayMatch(genIdx, gen, ecp));
+				}
+			}
+		}
+
+		// ".*" may be empty, but the prefix & the suffix can't overlap
+		final RulesConfig.PrefixSuffixRule rule = newPrefixSuffixRule("QTUM", "MUTQ", generators);
+		assertTrue(rule.isMatchable());
+		assertTrue(rule.matches("QTUMMUTQ"));
+		assertFalse(rule.matches("QTUMUTQ"));
+		assertFalse(newPrefixSuffixRule("0x", "Love", generators.subList(2, 3)).isMatchable());
+	}
+
+	private static RulesConfig.PrefixSuffixRule newPrefixSuffixRule(
+			String prefix, String suffix, List<AddressGenerator> generators) {
+		return new RulesConfig.PrefixSuffixRule("^" + prefix + ".*" + suffix + "$",
+				new RulesConfig.PrefixRule(prefix, generators), new RulesConfig.SuffixRule(suffix, generators));
+	}
+
+	// the point can be walked by updateNextSubsequent() (a new point drops the cached address)
+	private static ECPointData createWalkablePoint() {
+		final ECPointData ecp = new ECPointData(Constants.CURVE.getG());
+		final byte[] exponent = new byte[32];
+		exponent[31] = 0x10; // not 1: the next point is G + G (it's doubling)
+		assertTrue(ecp.update(exponent));
+		return ecp;
+	}
+
+	// hash160 is taken as is (just to check formatting)
+	private static AddressHash160Generator createFixedHash160Generator(byte[] hash160) {
+		return new AddressHash160Generator() {
+			@Override
+			public void evaluateHash160(byte[] dst, int offset, ECPointData ecp) {
+				System.arraycopy(hash160, 0, dst, offset, 20);
+			}
+
+			@Override
+			public AddressHash160Generator copy() {
+				return this;
+			}
+		};
+	}
+}
@@ -0,0 +1,61 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.util.Base58Encoder;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static ru.dzhsoft.blockchain.addressminer.util.Base58Encoder.ADDRESS_MAX_ENCODED_SIZE;
+import static ru.dzhsoft.blockchain.addressminer.util.Base58Encoder.ADDRESS_SIZE;
+
+public class TestBase58Encoder {
+	@Test
+	public void testEncode25() {
+		final Random rnd = new Random(0x5EED);
+		final byte[] input = new byte[ADDRESS_SIZE];
+		final char[] expected = new char[64];
+		final char[] output = new char[ADDRESS_MAX_ENCODED_SIZE + 3];
+		for (int i = 0; i < 1000; i++) {
+			rnd.nextBytes(input);
+			// leading zeros (up to all the bytes), max values, etc
+			final int zeros = (i < 100) ? (i % (ADDRESS_SIZE + 1)) : (i % 3);
+			for (int j = 0; j < zeros; j++) {
+				input[j] = 0;
+			}
+			if (i % 7 == 0) {
+				for (int j = zeros; j < ADDRESS_SIZE; j++) {
+					input[j] = (byte) 0xFF;
+				}
+			}
+
+			final int expectedCount = Base58Encoder.encodeInto(input, expected, 0);
+			final int count = Base58Encoder.encode25Into(input, output, 3);
+			assertEquals(new String(expected, 0, expectedCount), new String(output, 3, count));
+		}
+	}
+
+	@Test
+	public void testMod58Pow5() {
+		final Random rnd = new Random(0x5EED);
+		final byte[] input = new byte[ADDRESS_SIZE];
+		final char[] output = new char[ADDRESS_MAX_ENCODED_SIZE];
+		for (int i = 0; i < 1000; i++) {
+			rnd.nextBytes(input);
+			for (int j = 0; j < (i % (ADDRESS_SIZE + 1)); j++) {
+				input[j] = 0;
+			}
+
+			// the last 5 chars are residue of the payload (and any suffix of them is residue by its modulus)
+			final int count = Base58Encoder.encode25Into(input, output, 0);
+			final String encoded = new String(output, 0, count);
+			final long mod = Base58Encoder.mod58Pow5(input);
+			for (int len = 1; len <= Math.min(5, count); len++) {
+				final long[] residue = Base58Encoder.getSuffixResidue(encoded.substring(count - len), ADDRESS_SIZE);
+				assertEquals(encoded, residue[1], mod % residue[0]);
+			}
+		}
+		assertEquals(0, Base58Encoder.getSuffixResidue("0", ADDRESS_SIZE).length);
+		assertEquals(0, Base58Encoder.getSuffixResidue("l", ADDRESS_SIZE).length);
+	}
+}
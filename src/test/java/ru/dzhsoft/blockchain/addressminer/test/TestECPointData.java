@@ -0,0 +1,90 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.Constants;
+import ru.dzhsoft.blockchain.addressminer.addrgen.ECPointData;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestECPointData {
+	@Test
+	public void testSubsequentWalk() {
+		final Random rnd = new Random(0x5EED);
+		final ECPointData reference = new ECPointData(Constants.CURVE.getG());
+		for (int batchSize : new int[] { 1, 2, 7, 64 }) {
+			final ECPointData ecp = new ECPointData(Constants.CURVE.getG(), batchSize);
+			final byte[] exponent = new byte[32];
+			rnd.nextBytes(exponent);
+			exponent[0] &= 0x7F; // keep it less than N
+			assertTrue(ecp.update(exponent));
+			for (int i = 0; i < 150; i++) {
+				assertTrue(ecp.updateNextSubsequent());
+				assertTrue(reference.update(add(exponent, i + 1)));
+				assertArrayEquals("batchSize=" + batchSize + ", i=" + i, reference.publicX, ecp.publicX);
+				assertArrayEquals("batchSize=" + batchSize + ", i=" + i, reference.publicY, ecp.publicY);
+			}
+		}
+	}
+
+	@Test
+	public void testWrongExponent() {
+		final ECPointData ecp = new ECPointData(Constants.CURVE.getG());
+		final byte[] exponent = new byte[32];
+		assertFalse(ecp.update(exponent));
+		assertTrue(ecp.update(toBytes32(Constants.CURVE.getN().subtract(BigInteger.ONE))));
+		assertFalse(ecp.update(toBytes32(Constants.CURVE.getN())));
+		exponent[31] = 0x01;
+		assertTrue(ecp.update(exponent));
+		assertArrayEquals(toBytes32(Constants.CURVE.getG().getAffineXCoord().toBigInteger()), ecp.publicX);
+	}
+
+	@Test
+	public void testVariants() {
+		checkVariants(true, false, 2);
+		checkVariants(false, true, 3);
+		checkVariants(true, true, 6);
+	}
+
+	private static void checkVariants(boolean withNegation, boolean withEndomorphism, int variants) {
+		final Random rnd = new Random(0x5EED);
+		final ECPointData reference = new ECPointData(Constants.CURVE.getG());
+		final ECPointData ecp = new ECPointData(Constants.CURVE.getG(), 4, withNegation, withEndomorphism);
+		assertEquals(variants, ecp.getVariantCount());
+		byte[] exponent = new byte[32];
+		rnd.nextBytes(exponent);
+		exponent[0] &= 0x7F; // keep it less than N
+		assertTrue(ecp.update(exponent));
+		for (int i = 0; i < 10; i++) {
+			for (int v = 0; v < ecp.getVariantCount(); v++) {
+				// check variants in both directions (odd points are checked in reverse order)
+				final int variant = ((i & 0x01) == 0) ? v : (variants - v - 1);
+				final int modCount = ecp.getModCount();
+				final int prevVariant = ecp.getVariant();
+				ecp.selectVariant(variant);
+				assertEquals((variant == prevVariant) ? modCount : modCount + 1, ecp.getModCount());
+				final byte[] privKey = ecp.getVariantExponent(exponent);
+				assertTrue(reference.update(privKey));
+				assertArrayEquals("variant=" + variant + ", i=" + i, reference.publicX, ecp.publicX);
+				assertArrayEquals("variant=" + variant + ", i=" + i, reference.publicY, ecp.publicY);
+				assertEquals(reference.getYParity(), ecp.getYParity());
+			}
+			assertTrue(ecp.updateNextSubsequent());
+			exponent = add(exponent, 1);
+		}
+	}
+
+	private static byte[] add(byte[] exponent, int value) {
+		return toBytes32(new BigInteger(1, exponent).add(BigInteger.valueOf(value)));
+	}
+
+	private static byte[] toBytes32(BigInteger value) {
+		final byte[] bytes = value.toByteArray();
+		final byte[] result = new byte[32];
+		final int len = Math.min(bytes.length, 32);
+		System.arraycopy(bytes, bytes.length - len, result, 32 - len, len);
+		return result;
+	}
+}
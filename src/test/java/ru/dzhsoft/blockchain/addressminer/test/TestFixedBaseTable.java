@@ -0,0 +1,83 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.bouncycastle.math.ec.ECPoint;
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.Constants;
+import ru.dzhsoft.blockchain.addressminer.ec.FixedBaseTable;
+import ru.dzhsoft.blockchain.addressminer.ec.JacobianPoint;
+import ru.dzhsoft.blockchain.addressminer.ec.Secp256k1Field;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static ru.dzhsoft.blockchain.addressminer.ec.Secp256k1Field.create;
+import static ru.dzhsoft.blockchain.addressminer.ec.Secp256k1Field.toBigInteger;
+import static ru.dzhsoft.blockchain.addressminer.util.Helper.toBytes32;
+
+public class TestFixedBaseTable {
+	private static final BigInteger N = Constants.CURVE.getN();
+
+	@Test
+	public void testMultiply() {
+		final ECPoint g = Constants.CURVE.getG();
+		for (int window : new int[] { 1, 4, 5, 8 }) {
+			checkMultiply(FixedBaseTable.build(g, window), g);
+		}
+	}
+
+	@Test
+	public void testCustomGenerator() {
+		final ECPoint generator = Constants.CURVE.getG().multiply(BigInteger.valueOf(0xC0FFEE)).normalize();
+		checkMultiply(FixedBaseTable.build(generator, 7), generator);
+	}
+
+	@Test
+	public void testShared() {
+		final ECPoint g = Constants.CURVE.getG();
+		final FixedBaseTable table = FixedBaseTable.getShared(g, 6);
+		assertSame(table, FixedBaseTable.getShared(g.multiply(BigInteger.ONE), 6));
+		assertNotSame(table, FixedBaseTable.getShared(g, 7));
+		assertEquals(6, table.getWindow());
+		// 42 full windows of 6 bits & the last one of 4 bits, 64 bytes per point
+		assertEquals((42 * 64 + 16) * 64, table.getSizeBytes());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrongWindow() {
+		FixedBaseTable.build(Constants.CURVE.getG(), FixedBaseTable.MAX_WINDOW + 1);
+	}
+
+	private static void checkMultiply(FixedBaseTable table, ECPoint generator) {
+		final Random rnd = new Random(0x5EED);
+		final List<BigInteger> scalars = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			scalars.add(new BigInteger(256, rnd).mod(N.subtract(BigInteger.ONE)).add(BigInteger.ONE));
+		}
+		// edge cases: short & long scalars, full windows
+		scalars.add(BigInteger.ONE);
+		scalars.add(BigInteger.valueOf(2));
+		scalars.add(N.subtract(BigInteger.ONE));
+		scalars.add(N.shiftRight(1));
+		scalars.add(BigInteger.ONE.shiftLeft(255));
+		scalars.add(BigInteger.ONE.shiftLeft(200).subtract(BigInteger.ONE));
+		scalars.add(N.subtract(BigInteger.ONE.shiftLeft(table.getWindow())));
+
+		final JacobianPoint product = new JacobianPoint(new Secp256k1Field());
+		final int[] x = create();
+		final int[] y = create();
+		for (BigInteger k : scalars) {
+			final String message = "window=" + table.getWindow() + ", k=" + k.toString(16);
+			final ECPoint expected = generator.multiply(k).normalize();
+			assertTrue(message, table.multiply(toBytes32(k), product));
+			assertTrue(message, product.toAffine(x, y));
+			assertEquals(message, expected.getAffineXCoord().toBigInteger(), toBigInteger(x));
+			assertEquals(message, expected.getAffineYCoord().toBigInteger(), toBigInteger(y));
+		}
+
+		// N x G is point at infinity (the last table point is the negated sum of previous ones)
+		assertFalse(table.multiply(toBytes32(N), product));
+	}
+}
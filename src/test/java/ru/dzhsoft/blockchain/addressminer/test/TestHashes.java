@@ -0,0 +1,106 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.bouncycastle.crypto.digests.KeccakDigest;
+import org.bouncycastle.crypto.digests.RIPEMD160Digest;
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.ec.Secp256k1Field;
+import ru.dzhsoft.blockchain.addressminer.hash.Keccak256;
+import ru.dzhsoft.blockchain.addressminer.hash.Ripemd160;
+import ru.dzhsoft.blockchain.addressminer.hash.Sha256;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestHashes {
+	@Test
+	public void testSha256() throws NoSuchAlgorithmException {
+		checkSha256(new Sha256(false));
+		checkSha256(new Sha256(true));
+	}
+
+	private static void checkSha256(Sha256 sha256) throws NoSuchAlgorithmException {
+		final MessageDigest reference = MessageDigest.getInstance("SHA-256");
+		final Random rnd = new Random(0x5EED);
+		final byte[] data = new byte[40];
+		final int[] words = new int[8];
+		final byte[] digest = new byte[32];
+		for (int i = 0; i < 100; i++) {
+			rnd.nextBytes(data);
+
+			sha256.hash33(data, 3, words);
+			Sha256.toBytes(words, digest, 0, 32);
+			assertArrayEquals(reference.digest(Arrays.copyOfRange(data, 3, 3 + 33)), digest);
+
+			sha256.hash21(data, 1, words);
+			Sha256.toBytes(words, digest, 0, 32);
+			assertArrayEquals(reference.digest(Arrays.copyOfRange(data, 1, 1 + 21)), digest);
+
+			final byte[] expected = reference.digest(digest);
+			sha256.hash32(words, words);
+			Sha256.toBytes(words, digest, 0, 32);
+			assertArrayEquals(expected, digest);
+		}
+	}
+
+	@Test
+	public void testRipemd160() {
+		final RIPEMD160Digest reference = new RIPEMD160Digest();
+		final Ripemd160 ripemd160 = new Ripemd160();
+		final Random rnd = new Random(0x5EED);
+		final int[] words = new int[8];
+		final byte[] data = new byte[32];
+		final byte[] expected = new byte[20];
+		final byte[] digest = new byte[23];
+		for (int i = 0; i < 100; i++) {
+			for (int j = 0; j < words.length; j++) {
+				words[j] = rnd.nextInt();
+			}
+			Sha256.toBytes(words, data, 0, 32);
+			reference.update(data, 0, data.length);
+			reference.doFinal(expected, 0);
+			ripemd160.hash32(words, digest, 3);
+			assertArrayEquals(expected, Arrays.copyOfRange(digest, 3, 23));
+		}
+	}
+
+	@Test
+	public void testKeccak256() {
+		final KeccakDigest reference = new KeccakDigest(256);
+		final Keccak256 keccak256 = new Keccak256();
+		final Random rnd = new Random(0x5EED);
+		final byte[] data = new byte[64];
+		final byte[] expected = new byte[32];
+		final byte[] digest = new byte[32];
+		final char[] chars = new char[42];
+		for (int i = 0; i < 100; i++) {
+			// 64 bytes: X || Y given as field limbs
+			final int[] x = Secp256k1Field.fromBigInteger(new BigInteger(256, rnd).mod(Secp256k1Field.MODULUS));
+			final int[] y = Secp256k1Field.fromBigInteger(new BigInteger(256, rnd).mod(Secp256k1Field.MODULUS));
+			Secp256k1Field.toBytes(x, data, 0);
+			Secp256k1Field.toBytes(y, data, 32);
+			reference.update(data, 0, 64);
+			reference.doFinal(expected, 0);
+			keccak256.hashLimbs64(x, y);
+			keccak256.getBytes(0, digest, 0, 32);
+			assertArrayEquals(expected, digest);
+
+			// 40 ascii chars
+			for (int j = 0; j < chars.length; j++) {
+				chars[j] = (char) ('0' + rnd.nextInt(75));
+			}
+			for (int j = 0; j < 40; j++) {
+				data[j] = (byte) chars[j + 2];
+			}
+			reference.update(data, 0, 40);
+			reference.doFinal(expected, 0);
+			keccak256.hashAscii40(chars, 2);
+			keccak256.getBytes(0, digest, 0, 32);
+			assertArrayEquals(expected, digest);
+		}
+	}
+}
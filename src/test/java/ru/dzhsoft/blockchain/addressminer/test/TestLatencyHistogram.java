@@ -0,0 +1,43 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.util.LatencyHistogram;
+
+import static org.junit.Assert.*;
+
+public class TestLatencyHistogram {
+	@Test
+	public void testBuckets() {
+		assertEquals(0, LatencyHistogram.getBucket(0));
+		assertEquals(1, LatencyHistogram.getBucket(1));
+		assertEquals(2, LatencyHistogram.getBucket(2));
+		assertEquals(2, LatencyHistogram.getBucket(3));
+		assertEquals(10, LatencyHistogram.getBucket(1023));
+		assertEquals(11, LatencyHistogram.getBucket(1024));
+		assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.getBucket(Long.MAX_VALUE));
+		assertTrue(1023 < LatencyHistogram.getBucketBound(10));
+	}
+
+	@Test
+	public void testMerge() {
+		// two writers: 90 fast values & 10 slow ones
+		final LatencyHistogram h1 = new LatencyHistogram();
+		final LatencyHistogram h2 = new LatencyHistogram();
+		for (int i = 0; i < 90; i++) {
+			h1.record(100);
+		}
+		for (int i = 0; i < 10; i++) {
+			h2.record(5000);
+		}
+
+		final long[] snapshot = LatencyHistogram.newSnapshot();
+		assertEquals(0, LatencyHistogram.getQuantileBound(snapshot, 0.5));
+		h1.addTo(snapshot);
+		h2.addTo(snapshot);
+		assertEquals(100, LatencyHistogram.getCount(snapshot));
+		assertEquals((90 * 100 + 10 * 5000) / 100d, LatencyHistogram.getMean(snapshot), 1e-9);
+		assertEquals(128, LatencyHistogram.getQuantileBound(snapshot, 0.5));
+		assertEquals(128, LatencyHistogram.getQuantileBound(snapshot, 0.9));
+		assertEquals(8192, LatencyHistogram.getQuantileBound(snapshot, 0.99));
+	}
+}
@@ -0,0 +1,76 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.util.MappedDictionary;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.Assert.*;
+
+public class TestMappedDictionary {
+	@Test
+	public void testFind() throws IOException {
+		final Random rnd = new Random(0x5EED);
+		final String alphabet = "1ABLOVEabcloveZz";
+
+		// random words (unsorted, with comments, empty lines, CRLF & spaces)
+		final List<String> prefixes = new ArrayList<>();
+		final List<String> substrings = new ArrayList<>();
+		final StringBuilder content = new StringBuilder("# comment\n\n");
+		for (int i = 0; i < 3000; i++) {
+			final String word = randomText(rnd, alphabet, 2 + rnd.nextInt(5));
+			if (i % 3 == 0) {
+				prefixes.add(word);
+				content.append("^").append(word);
+			}
+			else {
+				substrings.add(word);
+				content.append(word);
+			}
+			content.append((i % 5 == 0) ? " \r\n" : "\n");
+		}
+		content.append("Q");
+		substrings.add("Q");
+
+		final File file = File.createTempFile("dict", ".txt");
+		file.deleteOnExit();
+		Files.write(file.toPath(), content.toString().getBytes(US_ASCII));
+		final MappedDictionary dict = MappedDictionary.load(file);
+		assertEquals(3001, dict.getWordCount());
+
+		int found = 0;
+		for (int i = 0; i < 20000; i++) {
+			final String text = randomText(rnd, alphabet + "Q123", 1 + rnd.nextInt(12));
+			boolean expected = false;
+			for (String word : prefixes) {
+				expected |= text.startsWith(word);
+			}
+			for (String word : substrings) {
+				expected |= text.contains(word);
+			}
+			final int idx = dict.find(text);
+			assertEquals(text, expected, idx >= 0);
+			if (idx >= 0) {
+				final String word = dict.getWord(idx);
+				assertTrue(text + " / " + word,
+						word.startsWith("^") ? text.startsWith(word.substring(1)) : text.contains(word));
+				found++;
+			}
+		}
+		assertTrue(found > 1000);
+	}
+
+	private static String randomText(Random rnd, String alphabet, int len) {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < len; i++) {
+			sb.append(alphabet.charAt(rnd.nextInt(alphabet.length())));
+		}
+		return sb.toString();
+	}
+}
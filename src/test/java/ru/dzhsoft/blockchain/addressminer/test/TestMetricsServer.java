@@ -0,0 +1,131 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.AddressMiner;
+import ru.dzhsoft.blockchain.addressminer.MinerSettings;
+import ru.dzhsoft.blockchain.addressminer.RulesConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+public class TestMetricsServer {
+	private static final String PREFIX = "addressminer_";
+	// exposition format: "# HELP name text", "# TYPE name type", "name{label="value",...} value"
+	private static final Pattern HELP = Pattern.compile("^# HELP (\\w+) .+$");
+	private static final Pattern TYPE = Pattern.compile("^# TYPE (\\w+) (counter|gauge|histogram)$");
+	private static final Pattern SAMPLE = Pattern.compile(
+			"^(\\w+)(\\{\\w+=\"(?:[^\"\\\\]|\\\\.)*\"(?:,\\w+=\"(?:[^\"\\\\]|\\\\.)*\")*})? (\\S+)$");
+
+	@Test(timeout = 60000)
+	public void testScrape() throws Exception {
+		final RulesConfig config = new RulesConfig();
+		config.load(new ByteArrayInputStream("[BTC, ETH]\nprefix:1Love\nregex:x\"q\\\\z\n".getBytes(UTF_8)));
+		final MinerSettings settings = new MinerSettings();
+		settings.setThreads(1);
+		settings.setSeededKeys(true);
+		settings.setMetricsPort(getFreePort());
+
+		final AddressMiner miner = new AddressMiner(settings, config);
+		miner.start();
+		try {
+			while (miner.getMetrics().getSnapshot().getExponentsScanned() < 1000) {
+				assertTrue(miner.isWorkerAlive(0));
+				Thread.sleep(10);
+			}
+			final Map<String, Double> first = parse(scrape(settings));
+			final Map<String, Double> second = parse(scrape(settings));
+
+			assertFalse(first.containsKey(PREFIX + "keys_per_second"));
+			assertTrue(first.get(PREFIX + "keys_scanned_total") >= 1000);
+			assertEquals(1d, first.get(PREFIX + "worker_up{worker=\"1\"}"), 0d);
+			assertEquals(2, count(first, PREFIX + "addresses_generated_total{"));
+			assertTrue(first.containsKey(PREFIX + "pattern_hits_total{pattern=\"[BTC, ETH] regex:x\\\"q\\\\\\\\z\"}"));
+			assertTrue(first.containsKey(PREFIX + "stage_latency_seconds_bucket{stage=\"EC point\",le=\"+Inf\"}"));
+
+			// counters don't go back between scrapes
+			for (Map.Entry<String, Double> entry : first.entrySet()) {
+				if (entry.getKey().contains("_total")) {
+					assertTrue(entry.getKey(), second.get(entry.getKey()) >= entry.getValue());
+				}
+			}
+		}
+		finally {
+			miner.shutdown();
+			miner.join();
+		}
+	}
+
+	// samples by names with labels, each of them is checked to follow HELP & TYPE of its metric
+	private static Map<String, Double> parse(String text) {
+		assertTrue(text.endsWith("\n"));
+		final Map<String, Double> samples = new HashMap<>();
+		String help = null, type = null;
+		for (String line : text.split("\n")) {
+			Matcher m;
+			if ((m = HELP.matcher(line)).matches()) {
+				help = m.group(1);
+			}
+			else if ((m = TYPE.matcher(line)).matches()) {
+				assertEquals(line, help, m.group(1));
+				type = m.group(1);
+			}
+			else {
+				m = SAMPLE.matcher(line);
+				assertTrue(line, m.matches());
+				assertTrue(line, m.group(1).startsWith(PREFIX));
+				assertTrue(line, m.group(1).equals(type) || m.group(1).equals(type + "_bucket")
+						|| m.group(1).equals(type + "_sum") || m.group(1).equals(type + "_count"));
+				final String name = m.group(1) + ((m.group(2) != null) ? m.group(2) : "");
+				assertNull(line, samples.put(name, Double.valueOf(m.group(3).replace("+Inf", "Infinity"))));
+			}
+		}
+		return samples;
+	}
+
+	private static int count(Map<String, Double> samples, String namePrefix) {
+		int count = 0;
+		for (String name : samples.keySet()) {
+			count += name.startsWith(namePrefix) ? 1 : 0;
+		}
+		return count;
+	}
+
+	private static String scrape(MinerSettings settings) throws IOException {
+		final URL url = new URL("http://" + settings.getMetricsHost() + ":" + settings.getMetricsPort() + "/metrics");
+		final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		try {
+			assertEquals(200, connection.getResponseCode());
+			assertTrue(connection.getContentType().startsWith("text/plain; version=0.0.4"));
+			final ByteArrayOutputStream body = new ByteArrayOutputStream();
+			try (InputStream input = connection.getInputStream()) {
+				final byte[] buf = new byte[0x1000];
+				int len;
+				while ((len = input.read(buf)) >= 0) {
+					body.write(buf, 0, len);
+				}
+			}
+			return new String(body.toByteArray(), UTF_8);
+		}
+		finally {
+			connection.disconnect();
+		}
+	}
+
+	private static int getFreePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
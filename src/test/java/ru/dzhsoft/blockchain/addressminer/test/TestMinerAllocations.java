@@ -0,0 +1,81 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.AddressMiner;
+import ru.dzhsoft.blockchain.addressminer.MinerMetrics;
+import ru.dzhsoft.blockchain.addressminer.MinerSettings;
+import ru.dzhsoft.blockchain.addressminer.RulesConfig;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+public class TestMinerAllocations {
+	private static final long WARMUP_KEYS = 300_000;
+	private static final long MEASURED_KEYS = 200_000;
+	// nothing is expected, but it's less than a byte per 100 keys anyway (e.g. deoptimization may allocate)
+	private static final long BUDGET_BYTES = MEASURED_KEYS / 100;
+	// short subsequences, so fresh exponents (ECPointData.update(byte[]) by the table) are measured too
+	private static final int SUBSEQLEN = 64;
+
+	@Test(timeout = 120000)
+	public void testSteadyStateAllocations() throws Exception {
+		final com.sun.management.ThreadMXBean threadBean =
+				(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assertTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		// all the stages of the per-key path: address rules, DFA & plain regexes, both currency families
+		final RulesConfig config = new RulesConfig();
+		config.load(new ByteArrayInputStream(("[BTC, TRX]\nprefix:1Love\nsuffix:Love\nregex:^T[a-c]{3}z\n\n"
+				+ "[ETH]\nregex:dead(be)+ef\nregex:^(?i)c0ffee\nprefix:abcdef\n").getBytes(UTF_8)));
+		final MinerSettings settings = new MinerSettings();
+		settings.setThreads(1);
+		settings.setSeededKeys(true);
+		settings.setSubSeqLen(SUBSEQLEN);
+		settings.setStatSampling(16);
+		settings.setNegation(true);
+		settings.setEndomorphism(true);
+
+		final AddressMiner miner = new AddressMiner(settings, config);
+		final MinerMetrics.Worker worker;
+		final Thread workerThread;
+		miner.start();
+		try {
+			worker = miner.getMetrics().getWorkers().get(0);
+			workerThread = findThread("MinerWorker-1");
+			waitForKeys(miner, worker, WARMUP_KEYS);
+
+			final long startKeys = worker.getExponentsScanned();
+			final long startBytes = threadBean.getThreadAllocatedBytes(workerThread.getId());
+			waitForKeys(miner, worker, startKeys + MEASURED_KEYS);
+			final long bytes = threadBean.getThreadAllocatedBytes(workerThread.getId()) - startBytes;
+			final long keys = worker.getExponentsScanned() - startKeys;
+			assertTrue("allocated " + bytes + " bytes for " + keys + " keys", bytes < BUDGET_BYTES);
+		}
+		finally {
+			miner.shutdown();
+			miner.join();
+		}
+	}
+
+	private static Thread findThread(String name) {
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (name.equals(thread.getName())) {
+				return thread;
+			}
+		}
+		throw new AssertionError("no thread " + name);
+	}
+
+	private static void waitForKeys(AddressMiner miner, MinerMetrics.Worker worker, long keys)
+			throws InterruptedException {
+		while (worker.getExponentsScanned() < keys) {
+			// the worker may die (e.g. by an exception), so don't wait for it forever
+			assertTrue("worker is dead", miner.isWorkerAlive(0));
+			Thread.sleep(10);
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.MinerBenchmark;
+import ru.dzhsoft.blockchain.addressminer.MinerSettings;
+import ru.dzhsoft.blockchain.addressminer.RulesConfig;
+
+import java.io.ByteArrayInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+public class TestMinerBenchmark {
+	@Test
+	public void testReport() throws Exception {
+		final RulesConfig config = new RulesConfig();
+		config.load(new ByteArrayInputStream("[BTC, ETH]\nregex:^1a+b\nprefix:1Love\n".getBytes(UTF_8)));
+		final MinerSettings settings = new MinerSettings();
+		settings.setThreads(2);
+		settings.setBenchmarkSec(1);
+		settings.setWarmupSec(0);
+
+		final String report = new MinerBenchmark(settings, config).run();
+		assertTrue(report.startsWith("{\n  \"schemaVersion\": " + MinerBenchmark.REPORT_SCHEMA_VERSION + ",\n"));
+		assertTrue(report.endsWith("}"));
+		assertTrue(report.contains("\"seed\": " + settings.getSeed()));
+		assertTrue(report.contains("\"workers\": [{\"worker\": 1, "));
+		assertTrue(report.contains("{\"worker\": 2, "));
+		assertTrue(report.contains("{\"currency\": \"BTC\", \"addressesPerSecond\": "));
+		assertTrue(report.contains("{\"currency\": \"ETH\", "));
+		assertTrue(report.contains("\"stageShares\": {\"fill rand\": "));
+		assertTrue(report.contains("{\"pattern\": \"[BTC, ETH] prefix:1Love\", "));
+		assertFalse(report.contains("\"keysScanned\": 0,"));
+	}
+}
@@ -0,0 +1,82 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.Constants;
+import ru.dzhsoft.blockchain.addressminer.addrgen.ECPointData;
+import ru.dzhsoft.blockchain.addressminer.jfr.MinerEvents;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TestMinerEvents {
+	private static final String EC_BATCH = "ru.dzhsoft.addressminer.EcBatch";
+	private static final String RANDOM_STARVATION = "ru.dzhsoft.addressminer.RandomStarvation";
+	private static final String FOUND_ADDRESS = "ru.dzhsoft.addressminer.FoundAddress";
+
+	@Test
+	public void testDisabled() {
+		// no recording: events are switched off, nothing is allocated for them
+		final MinerEvents events = MinerEvents.get();
+		assertTrue(events.isJfrAvailable());
+		assertNull(events.beginEcBatch());
+		assertNull(events.beginRandomStarvation());
+
+		// recording with the event switched off
+		try (Recording recording = new Recording()) {
+			recording.enable(FOUND_ADDRESS);
+			recording.disable(EC_BATCH);
+			recording.start();
+			assertNull(events.beginEcBatch());
+		}
+	}
+
+	@Test
+	public void testEmitted() throws IOException {
+		final MinerEvents events = MinerEvents.get();
+		final File file = Files.createTempFile("events", ".jfr").toFile();
+		try {
+			try (Recording recording = new Recording()) {
+				recording.enable(EC_BATCH);
+				recording.enable(RANDOM_STARVATION);
+				recording.enable(FOUND_ADDRESS);
+				recording.start();
+
+				final ECPointData ecp = new ECPointData(Constants.CURVE.getG(), 8);
+				final byte[] exponent = new byte[32];
+				exponent[31] = 0x10;
+				assertTrue(ecp.update(exponent));
+				for (int i = 0; i < 20; i++) {
+					assertTrue(ecp.updateNextSubsequent());
+				}
+				events.commitRandomStarvation(events.beginRandomStarvation(), 32, 8);
+				events.commitFoundAddress("BTC", "1Love", "prefix:1Love");
+
+				recording.stop();
+				recording.dump(file.toPath());
+			}
+
+			final Map<String, RecordedEvent> lastEvents = new HashMap<>();
+			final List<RecordedEvent> recorded = RecordingFile.readAllEvents(file.toPath());
+			for (RecordedEvent event : recorded) {
+				lastEvents.put(event.getEventType().getName(), event);
+			}
+			assertEquals(8, lastEvents.get(EC_BATCH).getInt("batchSize"));
+			assertTrue(lastEvents.get(EC_BATCH).getBoolean("evaluated"));
+			assertEquals(8, lastEvents.get(RANDOM_STARVATION).getInt("prngBytes"));
+			assertEquals("1Love", lastEvents.get(FOUND_ADDRESS).getString("address"));
+			assertEquals("prefix:1Love", lastEvents.get(FOUND_ADDRESS).getString("pattern"));
+		}
+		finally {
+			Files.deleteIfExists(file.toPath());
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.MinerMetrics;
+import ru.dzhsoft.blockchain.addressminer.RulesConfig;
+import ru.dzhsoft.blockchain.addressminer.util.LatencyHistogram;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+import static ru.dzhsoft.blockchain.addressminer.MinerMetrics.STAGE_EC_POINT;
+
+public class TestMinerMetrics {
+	@Test
+	public void testBreakdown() throws Exception {
+		final RulesConfig config = new RulesConfig();
+		config.load(new ByteArrayInputStream(("[BTC, TRX]\nregex:^.abc\nprefix:1Love\n\n[ETH, BTC]\nregex:de+ad\n")
+				.getBytes(UTF_8)));
+		final MinerMetrics metrics = new MinerMetrics(config, 1);
+		assertEquals(Arrays.asList("BTC", "TRX", "ETH"), metrics.getCurrencies());
+		assertEquals(Arrays.asList("[BTC, TRX] regex:^.abc", "[BTC, TRX] prefix:1Love", "[ETH, BTC] regex:de+ad"),
+				metrics.getPatterns());
+		assertEquals(2, metrics.getCurrencyIndex(1, 0));
+		assertEquals(0, metrics.getCurrencyIndex(1, 1));
+		assertEquals(2, metrics.getPatternIndex(1, 0));
+
+		// metrics of workers are summed
+		final MinerMetrics.Worker w1 = metrics.addWorker(1);
+		final MinerMetrics.Worker w2 = metrics.addWorker(2);
+		final MinerMetrics.Snapshot first = metrics.getSnapshot();
+		for (MinerMetrics.Worker w : Arrays.asList(w1, w2)) {
+			assertTrue(w.getTimer().nextIteration());
+			w.addExponentScanned();
+			w.addStageTime(STAGE_EC_POINT, 1000);
+			w.addAddress(2, 300);
+			w.addEvaluation(2, 50);
+		}
+		w2.addHit(2);
+		final MinerMetrics.Snapshot delta = metrics.getSnapshot().minus(first);
+		assertEquals(2, delta.getExponentsScanned());
+		assertEquals(2, delta.getSampledExponents());
+		assertEquals(2000, delta.getStageTimeNanos(STAGE_EC_POINT));
+		assertEquals(2, delta.getAddresses(2));
+		assertEquals(0, delta.getAddresses(0));
+		assertEquals(2, delta.getEvaluations(2));
+		assertEquals(1, delta.getHits(2));
+		assertEquals(300d, LatencyHistogram.getMean(
+				delta.getAddressHistogram(2)), 1e-9);
+		assertEquals(2, LatencyHistogram.getCount(
+				delta.getEvaluationHistogram(2)));
+	}
+}
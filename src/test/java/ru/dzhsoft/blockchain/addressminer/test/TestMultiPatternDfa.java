@@ -0,0 +1,139 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.AddressMiner;
+import ru.dzhsoft.blockchain.addressminer.MinerMetrics;
+import ru.dzhsoft.blockchain.addressminer.MinerSettings;
+import ru.dzhsoft.blockchain.addressminer.RulesConfig;
+import ru.dzhsoft.blockchain.addressminer.util.Base58Encoder;
+import ru.dzhsoft.blockchain.addressminer.util.MultiPatternDfa;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+public class TestMultiPatternDfa {
+	private static final String[] SUPPORTED = {
+			"^1A", "^.Test1.*X$", "^.Test2.*Y$", "ab", "(?i)^1cat", "Z$", "^Q[A-C]+", "[^a-z0-9]{3}$", "\\d\\d\\d",
+			"^1[1-3]?[a-c]*\\w", "x.y", "^1A{1,2}B", "\\.", "z{2,}", "^\\D\\W?",
+	};
+	private static final String[] UNSUPPORTED = {
+			"(.)\\1{3}", "a|b", "^(?:ab)", "\\bA", "a*?", "[[a]]", "\\p{Lu}",
+	};
+
+	@Test
+	public void testCompile() {
+		final List<Pattern> patterns = new ArrayList<>();
+		for (String regex : UNSUPPORTED) {
+			patterns.add(Pattern.compile(regex));
+		}
+		assertNull(MultiPatternDfa.compile(patterns));
+
+		patterns.add(Pattern.compile("^1A"));
+		patterns.add(Pattern.compile("abc", Pattern.MULTILINE));
+		patterns.add(Pattern.compile("abc", Pattern.CASE_INSENSITIVE));
+		final MultiPatternDfa dfa = MultiPatternDfa.compile(patterns);
+		assertNotNull(dfa);
+		assertEquals(2, dfa.getSupportedCount());
+		assertTrue(dfa.isSupported(UNSUPPORTED.length));
+		assertFalse(dfa.isSupported(UNSUPPORTED.length + 1));
+		assertTrue(dfa.isSupported(UNSUPPORTED.length + 2));
+	}
+
+	@Test
+	public void testScan() {
+		final List<Pattern> patterns = new ArrayList<>();
+		for (String regex : SUPPORTED) {
+			patterns.add(Pattern.compile(regex));
+		}
+		final MultiPatternDfa dfa = MultiPatternDfa.compile(patterns);
+		assertNotNull(dfa);
+		assertEquals(SUPPORTED.length, dfa.getSupportedCount());
+
+		// short random texts of a few chars (to get matches) & Base58 chars
+		final String[] alphabets = { "1ABQTXYZabcxyz.t", new String(Base58Encoder.ALPHABET) + "._" };
+		final Random rnd = new Random(0x5EED);
+		final long[] found = new long[1];
+		final StringBuilder text = new StringBuilder();
+		int matches = 0;
+		for (int i = 0; i < 20000; i++) {
+			final String alphabet = alphabets[i % 2];
+			text.setLength(0);
+			final int len = rnd.nextInt(12);
+			for (int j = 0; j < len; j++) {
+				text.append(alphabet.charAt(rnd.nextInt(alphabet.length())));
+			}
+			if (i % 3 == 0) {
+				text.insert(0, "1Test1");
+			}
+
+			final boolean any = dfa.scan(text, found);
+			boolean expectedAny = false;
+			for (int p = 0; p < patterns.size(); p++) {
+				final boolean expected = patterns.get(p).matcher(text).find();
+				assertEquals(SUPPORTED[p] + " / " + text, expected, MultiPatternDfa.isFound(found, p));
+				expectedAny |= expected;
+				matches += expected ? 1 : 0;
+			}
+			assertEquals(expectedAny, any);
+		}
+		assertTrue(matches > 1000);
+	}
+
+	@Test
+	public void testSharedBitmap() {
+		// blocks of 65 & 1 patterns scanned into the bitmap of all the patterns (as the miner does)
+		final List<Pattern> patterns = new ArrayList<>();
+		for (int i = 0; i < 65; i++) {
+			patterns.add(Pattern.compile("^" + i + "$"));
+		}
+		final MultiPatternDfa dfa = MultiPatternDfa.compile(patterns);
+		final MultiPatternDfa singleDfa = MultiPatternDfa.compile(Collections.singletonList(Pattern.compile("b$")));
+		assertNotNull(dfa);
+		assertNotNull(singleDfa);
+
+		final long[] found = new long[2];
+		assertTrue(dfa.scan("64", found));
+		assertTrue(MultiPatternDfa.isFound(found, 64));
+		assertFalse(MultiPatternDfa.isFound(found, 6));
+		assertTrue(singleDfa.scan("ab", found));
+		assertTrue(MultiPatternDfa.isFound(found, 0));
+		assertFalse(MultiPatternDfa.isFound(found, 64));
+		assertFalse(singleDfa.scan("64", found));
+	}
+
+	@Test(timeout = 60000)
+	public void testMinerWithManyPatterns() throws Exception {
+		// more than 64 regexes in total (not converted to prefix rules), blocks have DFAs of 65 & 1 patterns
+		final StringBuilder rules = new StringBuilder("[BTC]\n");
+		for (int i = 0; i < 65; i++) {
+			rules.append("regex:x").append(i).append("zzzz\n");
+		}
+		// it's found once in a few thousands keys
+		rules.append("\n[TRX]\nregex:zzz\n");
+		final RulesConfig config = new RulesConfig();
+		config.load(new ByteArrayInputStream(rules.toString().getBytes(UTF_8)));
+		final MinerSettings settings = new MinerSettings();
+		settings.setThreads(1);
+
+		final AddressMiner miner = new AddressMiner(settings, config);
+		miner.start();
+		try {
+			final MinerMetrics.Worker worker = miner.getMetrics().getWorkers().get(0);
+			while (worker.getExponentsScanned() < 50_000) {
+				assertTrue("the worker has died", miner.isWorkerAlive(0));
+				Thread.sleep(10);
+			}
+		}
+		finally {
+			miner.shutdown();
+			miner.join();
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.util.NibblePattern;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class TestNibblePattern {
+	private static final String[] SUPPORTED = {
+			"^(.)\\1{7,}", "^0000", "dead", "^.dead", "beef$", "^.*beef$", "(.)\\1\\1\\1", "^[0-3]{2,5}[^0-9]",
+			"^\\d+$", "[a-f]{6}", "^0?1*2+", "(.)(.)\\2\\1", "^[^a-c]{4}", "^.{38}00$",
+	};
+	private static final String[] UNSUPPORTED = {
+			"^(ab)", "a|b", "^(a|.)", "^(.)+", "^x", "a*?", "\\w", "(?i)dead", "^(.)\\2",
+	};
+
+	@Test
+	public void testCompile() {
+		for (String regex : UNSUPPORTED) {
+			assertNull(regex, NibblePattern.compile(regex));
+		}
+		assertNotNull(NibblePattern.compile("^(.)\\1{7,}"));
+	}
+
+	@Test
+	public void testFind() {
+		final Random rnd = new Random(0x5EED);
+		final byte[] bytes = new byte[20];
+		for (String regex : SUPPORTED) {
+			final NibblePattern nibblePattern = NibblePattern.compile(regex);
+			assertNotNull(regex, nibblePattern);
+			final Pattern pattern = Pattern.compile(regex);
+			for (int i = 0; i < 2000; i++) {
+				// a few nibbles only to get some matches
+				rnd.nextBytes(bytes);
+				for (int j = 0; j < bytes.length; j++) {
+					bytes[j] &= (i % 2 == 0) ? 0x11 : 0xFF;
+				}
+				if (i % 5 == 0) {
+					bytes[0] = bytes[1] = bytes[2] = bytes[3] = 0;
+				}
+				final String hex = Hex.toHexString(bytes);
+				final boolean found = nibblePattern.find(bytes, 40);
+
+				// exact for lower case chars (except negated classes: they allow nibbles by upper case chars)
+				if (pattern.matcher(hex).find() || !regex.contains("[^")) {
+					assertEquals(regex + " / " + hex, pattern.matcher(hex).find(), found);
+				}
+
+				// superset for any case of letters
+				final StringBuilder mixed = new StringBuilder(hex);
+				for (int j = 0; j < mixed.length(); j++) {
+					if (rnd.nextBoolean()) {
+						mixed.setCharAt(j, Character.toUpperCase(mixed.charAt(j)));
+					}
+				}
+				if (pattern.matcher(mixed).find()) {
+					assertTrue(regex + " / " + mixed, found);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.util.PaddedCounters;
+
+import static org.junit.Assert.*;
+
+public class TestPaddedCounters {
+	@Test
+	public void testCounters() throws InterruptedException {
+		// each writer has its own counters, the reader sums them
+		final PaddedCounters[] counters = new PaddedCounters[4];
+		final Thread[] writers = new Thread[counters.length];
+		for (int w = 0; w < writers.length; w++) {
+			final PaddedCounters c = counters[w] = new PaddedCounters(3);
+			writers[w] = new Thread(() -> {
+				for (int i = 0; i < 100000; i++) {
+					c.add(0, 1);
+					c.add(2, i);
+				}
+			});
+			writers[w].start();
+		}
+		for (Thread writer : writers) {
+			writer.join();
+		}
+
+		long total0 = 0, total1 = 0, total2 = 0;
+		for (PaddedCounters c : counters) {
+			assertEquals(3, c.getCount());
+			total0 += c.get(0);
+			total1 += c.get(1);
+			total2 += c.get(2);
+		}
+		assertEquals(4 * 100000L, total0);
+		assertEquals(0, total1);
+		assertEquals(4 * (100000L * 99999L / 2), total2);
+	}
+}
@@ -0,0 +1,69 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.util.RegexLiteral;
+import ru.dzhsoft.blockchain.addressminer.util.ReusableCharSequence;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class TestRegexLiteral {
+	@Test
+	public void testExtract() {
+		assertLiteral("^1Love", "^1Love");
+		assertLiteral("^.Test1.*X$", "Test1");
+		assertLiteral("^.*(a|b)Cat\\d+$", "Cat");
+		assertLiteral("Lo+ve{2}r?s", "Lo");
+		assertLiteral("^Q.*MUTQ$", "MUTQ$");
+		assertLiteral("^abc$", "^abc$");
+		assertLiteral("[xyz]abc[^]q]{3}", "abc");
+		assertLiteral("x\\.y", "x.y");
+		assertLiteral("a{2}bc{0,3}", "a");
+		assertLiteral("(.)\\1{10,}", null);
+		assertLiteral("abc|def", null);
+		// nested classes & intersections: the class end is unclear ("]x" isn't a literal, "bx" matches)
+		assertLiteral("[a-z&&[^aeiou]]x", null);
+		assertLiteral("q[a[bc]]xyz", null);
+		assertLiteral("q[\\[&]xyz", "xyz");
+		assertLiteral("(?i)abc", null);
+		assertLiteral("\\p{Lu}abc", null);
+		assertNull(RegexLiteral.extract(Pattern.compile("abc", Pattern.CASE_INSENSITIVE)));
+	}
+
+	@Test
+	public void testNoFalseNegatives() {
+		final String[] regexes = {
+				"^1A", "^.Test1.*X$", "ab+c", "^Z.*zz$", "x\\.?y", "a{2}b", "(ab|cd)ef", "[^a]bc$", "b{1,2}a",
+		};
+		final Random rnd = new Random(0x5EED);
+		final String alphabet = "1ABTXZabcdefxyz.t";
+		final ReusableCharSequence text = new ReusableCharSequence(16);
+		for (String regex : regexes) {
+			final Pattern pattern = Pattern.compile(regex);
+			final RegexLiteral literal = RegexLiteral.extract(pattern);
+			assertNotNull(regex, literal);
+			int rejected = 0;
+			for (int i = 0; i < 20000; i++) {
+				final int len = rnd.nextInt(text.getBuffer().length);
+				for (int j = 0; j < len; j++) {
+					text.getBuffer()[j] = alphabet.charAt(rnd.nextInt(alphabet.length()));
+				}
+				text.setLen(len);
+				final boolean present = literal.isPresentIn(text);
+				assertEquals(present, literal.isPresentIn(text.toString()));
+				if (pattern.matcher(text).find()) {
+					assertTrue(regex + " / " + text, present);
+				}
+				rejected += present ? 0 : 1;
+			}
+			assertTrue(regex, rejected > 1000);
+		}
+	}
+
+	private static void assertLiteral(String regex, String expected) {
+		final RegexLiteral literal = RegexLiteral.extract(Pattern.compile(regex));
+		assertEquals(regex, expected, (literal != null) ? literal.toString() : null);
+	}
+}
@@ -8,7 +8,9 @@ import ru.dzhsoft.blockchain.addressminer.WrongRulesConfigException;
 import ru.dzhsoft.blockchain.addressminer.addrgen.*;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -73,6 +75,131 @@ public class TestRulesConfig {
 			assertEquals(2, e.getLineNo());
 			assertTrue(e.getMessage().contains("invalid regex"));
 		}
+
+		try {
+			config.load(new ByteArrayInputStream(("[BTC, ETH]\n"
+					+ "prefix:1Love\n"
+					+ "prefix:TLove").getBytes(UTF_8)));
+			Assert.fail();
+		}
+		catch (WrongRulesConfigException e) {
+			assertEquals(3, e.getLineNo());
+			assertTrue(e.getMessage().contains("no address of the currencies block can start with: TLove"));
+		}
+	}
+
+	@Test
+	public void testPrefixes() throws IOException, WrongRulesConfigException {
+		final RulesConfig config = new RulesConfig();
+		config.load(new ByteArrayInputStream(("[BTC, TRX, ETH]\n"
+				+ "prefix:1Love\n"
+				+ "prefix:dead\n").getBytes(UTF_8)));
+
+		final List<RulesBlock> blocks = config.getRulesBlocks();
+		assertEquals(1, blocks.size());
+		final RulesBlock block = blocks.get(0);
+		assertEquals(0, block.getRegexPatterns().size());
+		assertEquals(2, block.getAddressRules().size());
+
+		// "1Love": only BTC can match (ranges of TRX & ETH are empty)
+		final RulesConfig.PrefixRule rule1 = (RulesConfig.PrefixRule) block.getAddressRules().get(0);
+		assertEquals("1Love", rule1.getPrefix());
+		assertTrue(rule1.getHash160Ranges(0).length > 0);
+		assertEquals(0, rule1.getHash160Ranges(1).length);
+		assertEquals(0, rule1.getHash160Ranges(2).length);
+		assertTrue(rule1.matches("1LoveXyz"));
+		assertFalse(rule1.matches("1Lov"));
+
+		// "dead": hex of ETH address
+		final RulesConfig.PrefixRule rule2 = (RulesConfig.PrefixRule) block.getAddressRules().get(1);
+		assertArrayEquals(new long[] { 0xDEAD000000000000L, 0xDEADFFFFFFFFFFFFL }, rule2.getHash160Ranges(2));
+
+		// copies share the rules
+		assertSame(rule1, block.copy().getAddressRules().get(0));
+	}
+
+	@Test
+	public void testSuffixes() throws IOException, WrongRulesConfigException {
+		final RulesConfig config = new RulesConfig();
+		config.load(new ByteArrayInputStream(("[BTC, ETH]\n"
+				+ "suffix:beef\n"
+				+ "regex:^1Love\n"
+				+ "regex:.*Love$\n"
+				+ "regex:^.Love\n"
+				+ "regex:^0O\n"
+				+ "regex:^1Lo.*ve$\n").getBytes(UTF_8)));
+
+		final RulesBlock block = config.getRulesBlocks().get(0);
+		final List<RulesConfig.AddressRule> rules = block.getAddressRules();
+		assertEquals(4, rules.size());
+
+		// "beef": both BTC & ETH can match
+		final RulesConfig.SuffixRule rule1 = (RulesConfig.SuffixRule) rules.get(0);
+		assertEquals(2, rule1.getCompiledSuffix(0).length);
+		assertArrayEquals(new long[] { 0xFFFF, 0xBEEF }, rule1.getCompiledSuffix(1));
+		assertTrue(rule1.matches("0xdeadbeef"));
+		assertFalse(rule1.matches("0xbeefdead"));
+		assertFalse(rule1.matches("eef"));
+
+		// literal regexes are converted to rules (the rest ones and unmatchable ones are kept as is)
+		assertEquals("prefix:1Love", rules.get(1).toString());
+		assertEquals("suffix:Love", rules.get(2).toString());
+		final RulesConfig.PrefixSuffixRule rule3 = (RulesConfig.PrefixSuffixRule) rules.get(3);
+		assertEquals("regex:^1Lo.*ve$", rule3.toString());
+		assertEquals("1Lo", rule3.getPrefixRule().getPrefix());
+		assertEquals("ve", rule3.getSuffixRule().getSuffix());
+		assertEquals(2, block.getRegexPatterns().size());
+
+		// hex regexes are converted for blocks of hex addresses only
+		final RulesConfig hexConfig = new RulesConfig();
+		hexConfig.load(new ByteArrayInputStream(("[ETH, ETH{+checksum}]\n"
+				+ "regex:^(.)\\1{7,}\n"
+				+ "regex:^(ab|cd)\n").getBytes(UTF_8)));
+		final RulesBlock hexBlock = hexConfig.getRulesBlocks().get(0);
+		assertEquals(1, hexBlock.getAddressRules().size());
+		assertTrue(hexBlock.getAddressRules().get(0) instanceof RulesConfig.HexRegexRule);
+		assertEquals("regex:^(.)\\1{7,}", hexBlock.getAddressRules().get(0).toString());
+		assertEquals(1, hexBlock.getRegexPatterns().size());
+
+		try {
+			config.load(new ByteArrayInputStream("[ETH]\nsuffix:Love".getBytes(UTF_8)));
+			Assert.fail();
+		}
+		catch (WrongRulesConfigException e) {
+			assertEquals(2, e.getLineNo());
+			assertTrue(e.getMessage().contains("no address of the currencies block can end with: Love"));
+		}
+	}
+
+	@Test
+	public void testDictionary() throws IOException, WrongRulesConfigException {
+		final File file = File.createTempFile("dict", ".txt");
+		file.deleteOnExit();
+		Files.write(file.toPath(), "^1Love\nCat\n".getBytes(UTF_8));
+
+		final RulesConfig config = new RulesConfig();
+		config.load(new ByteArrayInputStream(("[BTC]\n"
+				+ "dict:" + file.getPath() + "\n"
+				+ "[TRX]\n"
+				+ "dict:" + file.getPath() + "\n").getBytes(UTF_8)));
+		final List<RulesBlock> blocks = config.getRulesBlocks();
+		final RulesConfig.DictRule rule1 = (RulesConfig.DictRule) blocks.get(0).getAddressRules().get(0);
+		final RulesConfig.DictRule rule2 = (RulesConfig.DictRule) blocks.get(1).getAddressRules().get(0);
+		assertSame(rule1.getDictionary(), rule2.getDictionary());
+		assertSame(rule1, blocks.get(0).copy().getAddressRules().get(0));
+		assertTrue(rule1.matches("1LoveXyz"));
+		assertTrue(rule1.matches("1xCatXyz"));
+		assertFalse(rule1.matches("1xLoveyz"));
+		assertTrue(rule1.describeMatch("1xCatXyz").endsWith("=> Cat"));
+
+		try {
+			config.load(new ByteArrayInputStream("[BTC]\ndict:/nonexistent/words.txt".getBytes(UTF_8)));
+			Assert.fail();
+		}
+		catch (WrongRulesConfigException e) {
+			assertEquals(2, e.getLineNo());
+			assertTrue(e.getMessage().contains("can't load dictionary"));
+		}
 	}
 
 	@Test
@@ -0,0 +1,44 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.util.SampledTimer;
+
+import static org.junit.Assert.*;
+
+public class TestSampledTimer {
+	@Test
+	public void testSampling() {
+		// no sampling: zero times only
+		final SampledTimer none = new SampledTimer(0, 1);
+		for (int i = 0; i < 1000; i++) {
+			assertFalse(none.nextIteration());
+			assertEquals(0, none.getTimeNanos());
+		}
+
+		// each iteration
+		final SampledTimer all = new SampledTimer(1, 1);
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(all.nextIteration());
+			assertTrue(all.isSampled());
+		}
+
+		// 1 of 64 on average, intervals are random (not a multiple of the period only)
+		final SampledTimer timer = new SampledTimer(64, 0x5EED);
+		final int iterations = 64 * 10000;
+		int sampled = 0, last = 0;
+		boolean irregular = false;
+		for (int i = 1; i <= iterations; i++) {
+			if (timer.nextIteration()) {
+				assertTrue(timer.getTimeNanos() != 0);
+				irregular |= ((i - last) % 64) != 0;
+				last = i;
+				sampled++;
+			}
+			else {
+				assertEquals(0, timer.getTimeNanos());
+			}
+		}
+		assertEquals(10000, sampled, 300);
+		assertTrue(irregular);
+	}
+}
@@ -0,0 +1,72 @@
+package ru.dzhsoft.blockchain.addressminer.test;
+
+import org.junit.Test;
+import ru.dzhsoft.blockchain.addressminer.ec.Secp256k1Field;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static ru.dzhsoft.blockchain.addressminer.ec.Secp256k1Field.*;
+
+public class TestSecp256k1Field {
+	private static final BigInteger P = Secp256k1Field.MODULUS;
+
+	@Test
+	public void testArithmetic() {
+		final Secp256k1Field field = new Secp256k1Field();
+		final int[] z = create();
+		final List<BigInteger> values = getTestValues();
+		for (BigInteger a : values) {
+			final int[] x = fromBigInteger(a);
+			assertEquals(a, toBigInteger(x));
+
+			negate(x, z);
+			assertEquals(a.negate().mod(P), toBigInteger(z));
+
+			if (a.signum() != 0) {
+				field.invert(x, z);
+				assertEquals(a.modInverse(P), toBigInteger(z));
+			}
+
+			for (BigInteger b : values) {
+				final int[] y = fromBigInteger(b);
+				add(x, y, z);
+				assertEquals(a + " + " + b, a.add(b).mod(P), toBigInteger(z));
+				subtract(x, y, z);
+				assertEquals(a + " - " + b, a.subtract(b).mod(P), toBigInteger(z));
+				field.multiply(x, y, z);
+				assertEquals(a + " * " + b, a.multiply(b).mod(P), toBigInteger(z));
+			}
+		}
+	}
+
+	@Test
+	public void testInPlace() {
+		final Secp256k1Field field = new Secp256k1Field();
+		final BigInteger a = new BigInteger("79BE667EF9DCBBAC55A06295CE870B07029BFCDB2DCE28D959F2815B16F81798", 16);
+		final int[] x = fromBigInteger(a);
+		field.square(x, x);
+		assertEquals(a.multiply(a).mod(P), toBigInteger(x));
+		field.invert(x, x);
+		assertEquals(a.multiply(a).modInverse(P), toBigInteger(x));
+	}
+
+	private static List<BigInteger> getTestValues() {
+		final List<BigInteger> values = new ArrayList<>();
+		values.add(BigInteger.ZERO);
+		values.add(BigInteger.ONE);
+		values.add(BigInteger.valueOf(0xFFFFFFFFL));
+		values.add(P.subtract(BigInteger.ONE));
+		values.add(P.subtract(BigInteger.valueOf(0x1000003D1L)));
+		values.add(BigInteger.ONE.shiftLeft(255));
+		values.add(BigInteger.ONE.shiftLeft(32).subtract(BigInteger.ONE).shiftLeft(224));
+		final Random rnd = new Random(0x5EED);
+		for (int i = 0; i < 40; i++) {
+			values.add(new BigInteger(256, rnd).mod(P));
+		}
+		return values;
+	}
+}